@@ -4,6 +4,7 @@ import com.nisircop.le.apigateway.filter.AuthenticationFilter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
+import org.springframework.cloud.gateway.support.RouteMetadataUtils;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -24,6 +25,11 @@ public class GatewayConfig {
                 .route("geographic-service", r -> r.path("/geo/**")
                         .filters(f -> f.filter(filter.apply(new AuthenticationFilter.Config())))
                         .uri("lb://geographic-service"))
+                // Long-lived SSE feed: no response timeout; text/event-stream is flushed per event, never buffered
+                .route("incident-stream", r -> r.path("/api/v1/incidents/stream")
+                        .filters(f -> f.filter(filter.apply(new AuthenticationFilter.Config())))
+                        .metadata(RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR, -1)
+                        .uri("lb://incident-service"))
                 .route("incident-service", r -> r.path("/incidents/**")
                         .filters(f -> f.filter(filter.apply(new AuthenticationFilter.Config())))
                         .uri("lb://incident-service"))
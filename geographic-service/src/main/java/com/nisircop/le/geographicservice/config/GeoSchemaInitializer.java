@@ -0,0 +1,60 @@
+package com.nisircop.le.geographicservice.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Applies the PostGIS objects that Hibernate's ddl-auto cannot express, then checks that they exist.
+ * Every statement is idempotent so it is safe on each startup.
+ */
+@Component
+public class GeoSchemaInitializer implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeoSchemaInitializer.class);
+
+    // Serves ST_Contains(boundary::geometry, point) in the database point-check mode and the owners lookup;
+    // a plain index on the geography column cannot serve the cast.
+    private static final String BOUNDARY_INDEX =
+            "CREATE INDEX IF NOT EXISTS idx_user_profiles_boundary_geometry ON user_profiles USING GIST ((boundary::geometry))";
+
+    // The geography index it replaces; nothing queries the column as geography any more.
+    private static final String DROP_GEOGRAPHY_INDEX = "DROP INDEX IF EXISTS idx_user_profiles_boundary";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public GeoSchemaInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        execute(BOUNDARY_INDEX);
+        execute(DROP_GEOGRAPHY_INDEX);
+        requireIndexes("user_profiles", "idx_user_profiles_boundary_geometry");
+    }
+
+    private void execute(String sql) {
+        try {
+            jdbcTemplate.execute(sql);
+        } catch (DataAccessException e) {
+            logger.error("Schema statement failed: {} - {}", sql, e.getMessage());
+        }
+    }
+
+    private void requireIndexes(String table, String... indexNames) {
+        List<String> present = jdbcTemplate.queryForList(
+                "SELECT indexname FROM pg_indexes WHERE tablename = ?", String.class, table);
+        for (String indexName : indexNames) {
+            if (!present.contains(indexName)) {
+                logger.warn("Index {} on {} is missing; queries that rely on it will fall back to sequential scans", indexName, table);
+            }
+        }
+    }
+}
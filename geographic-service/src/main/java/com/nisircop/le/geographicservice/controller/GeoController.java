@@ -1,22 +1,53 @@
 package com.nisircop.le.geographicservice.controller;
 
+import com.nisircop.le.geographicservice.dto.BoundaryGeometry;
+import com.nisircop.le.geographicservice.dto.BoundaryUpdateRequest;
+import com.nisircop.le.geographicservice.dto.CoverageReport;
+import com.nisircop.le.geographicservice.dto.EncodedBoundary;
 import com.nisircop.le.geographicservice.dto.PointValidationRequest;
 import com.nisircop.le.geographicservice.model.UserProfile;
+import com.nisircop.le.geographicservice.service.CoverageAnalyzer;
 import com.nisircop.le.geographicservice.service.GeoService;
+import com.nisircop.le.geographicservice.service.SimplifiedBoundaryCache;
+import com.nisircop.le.geographicservice.service.StationDirectory;
 import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.Point;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
 @RestController
 @RequestMapping("/geo")
 public class GeoController {
 
+    private static final String POINT_COUNT_HEADER = "X-Point-Count";
+    private static final MediaType GEO_JSON = MediaType.parseMediaType("application/geo+json");
+    private static final int MAX_ZOOM = 22;
+
     @Autowired
     private GeoService geoService;
 
+    @Autowired
+    private SimplifiedBoundaryCache simplifiedBoundaries;
+
+    @Autowired
+    private CoverageAnalyzer coverageAnalyzer;
+
+    @Autowired
+    private StationDirectory stationDirectory;
+
+    @Value("${geo.validate-points.max-batch-size:100000}")
+    private int maxBatchSize;
+
     private final GeometryFactory geometryFactory = new GeometryFactory();
 
     @GetMapping("/boundary/{userId}")
@@ -26,6 +57,96 @@ public class GeoController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // With zoom=, a simplified outline for map rendering instead of the full-precision profile.
+    @GetMapping(value = "/boundary/{userId}", params = "zoom")
+    public ResponseEntity<?> getSimplifiedBoundary(@PathVariable Long userId,
+                                                   @RequestParam int zoom,
+                                                   @RequestParam(defaultValue = "geojson") String encoding) {
+        SimplifiedBoundaryCache.Encoding boundaryEncoding;
+        try {
+            boundaryEncoding = SimplifiedBoundaryCache.Encoding.parse(encoding);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (zoom < 0 || zoom > MAX_ZOOM) {
+            return ResponseEntity.badRequest().build();
+        }
+        return simplifiedBoundaries.get(userId, zoom)
+                .<ResponseEntity<?>>map(rendition -> boundaryEncoding == SimplifiedBoundaryCache.Encoding.GEOJSON
+                        ? ResponseEntity.ok().contentType(GEO_JSON).body(rendition.geoJson())
+                        : ResponseEntity.ok(new EncodedBoundary(userId, rendition.zoom(), rendition.precision(), rendition.polylines())))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/boundary/{userId}/geometry")
+    public ResponseEntity<BoundaryGeometry> getBoundaryGeometry(@PathVariable Long userId) {
+        return geoService.getBoundaryWkb(userId)
+                .map(wkb -> ResponseEntity.ok(new BoundaryGeometry(userId, wkb)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PutMapping("/boundary/{userId}")
+    public ResponseEntity<UserProfile> updateBoundary(@PathVariable Long userId,
+                                                      @RequestHeader("X-User-Id") Long actorId,
+                                                      @RequestHeader("X-User-Role") String actorRole,
+                                                      @RequestBody BoundaryUpdateRequest request) {
+        try {
+            if (!mayEditBoundary(actorId, actorRole, userId)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+            }
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        Geometry boundary;
+        try {
+            boundary = geoService.parseBoundary(request.getWkt());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        // A station cannot widen its reach through its officers: their boundaries stay inside its own.
+        if (!"SUPER_USER".equals(actorRole) && !geoService.boundaryCovers(actorId, boundary)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return geoService.updateBoundary(userId, boundary)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // SUPER_USER edits any boundary, its own included; a station only those of its own officers, never its own.
+    private boolean mayEditBoundary(Long actorId, String actorRole, Long userId) {
+        if ("SUPER_USER".equals(actorRole)) {
+            return true;
+        }
+        return "POLICE_STATION".equals(actorRole) && !actorId.equals(userId)
+                && stationDirectory.isOfficerOf(actorId, userId);
+    }
+
+    @GetMapping("/owners")
+    public ResponseEntity<List<Long>> getBoundaryOwners(@RequestParam double lat, @RequestParam double lon) {
+        if (lat < -90 || lat > 90 || lon < -180 || lon > 180) {
+            return ResponseEntity.badRequest().build();
+        }
+        Point point = geometryFactory.createPoint(new Coordinate(lon, lat));
+        return ResponseEntity.ok(geoService.getBoundaryOwners(point));
+    }
+
+    // Overlapping boundaries and uncovered parts of the jurisdiction, as of the last analysis.
+    @GetMapping("/coverage")
+    public ResponseEntity<CoverageReport> getCoverage() {
+        return coverageAnalyzer.report()
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+
+    @PostMapping("/coverage/recompute")
+    public ResponseEntity<Void> recomputeCoverage(@RequestHeader("X-User-Role") String userRole) {
+        if (!"SUPER_USER".equals(userRole)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        coverageAnalyzer.recompute();
+        return ResponseEntity.accepted().build();
+    }
+
     @PostMapping("/validate-point")
     public ResponseEntity<Boolean> validatePointInBoundary(@RequestBody PointValidationRequest request) {
         Point point = geometryFactory.createPoint(new Coordinate(request.getLongitude(), request.getLatitude()));
@@ -38,4 +159,30 @@ public class GeoController {
         boolean isValid = geoService.isPointInBoundary(request.getUserId(), point);
         return ResponseEntity.ok(isValid);
     }
-}
\ No newline at end of file
+
+    @PostMapping("/validate-points")
+    public ResponseEntity<List<Boolean>> validatePointsInBoundaries(@RequestBody List<PointValidationRequest> requests) {
+        if (requests.size() > maxBatchSize) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(geoService.arePointsInBoundaries(requests));
+    }
+
+    // Compact form for bulk callers: bit i (least significant bit first) is the result of request i.
+    @PostMapping(value = "/validate-points", params = "encoding=bitset", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<byte[]> validatePointsAsBitset(@RequestBody List<PointValidationRequest> requests) {
+        if (requests.size() > maxBatchSize) {
+            return ResponseEntity.badRequest().build();
+        }
+        boolean[] valid = geoService.validatePoints(requests);
+        BitSet bits = new BitSet(valid.length);
+        for (int i = 0; i < valid.length; i++) {
+            bits.set(i, valid[i]);
+        }
+        // toByteArray drops trailing zero bytes; pad so the length always matches the request count.
+        byte[] body = Arrays.copyOf(bits.toByteArray(), (valid.length + 7) / 8);
+        return ResponseEntity.ok()
+                .header(POINT_COUNT_HEADER, Integer.toString(valid.length))
+                .body(body);
+    }
+}
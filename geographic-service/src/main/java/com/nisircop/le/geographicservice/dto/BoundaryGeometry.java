@@ -0,0 +1,14 @@
+package com.nisircop.le.geographicservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Boundary polygon as hex-encoded WKB, compact and lossless for clients that build their own JTS geometry
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoundaryGeometry {
+    private Long userId;
+    private String wkb;
+}
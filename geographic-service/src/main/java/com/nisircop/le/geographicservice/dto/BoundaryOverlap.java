@@ -0,0 +1,18 @@
+package com.nisircop.le.geographicservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Area claimed by two boundaries; nested when one boundary lies entirely inside the other (e.g. an officer's
+// beat inside their station), partial otherwise. Area is approximate, geometry is WKT
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoundaryOverlap {
+    private Long userId;
+    private Long otherUserId;
+    private boolean nested;
+    private double areaSquareMeters;
+    private String wkt;
+}
@@ -0,0 +1,12 @@
+package com.nisircop.le.geographicservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoundaryUpdateRequest {
+    private String wkt; // POLYGON in WGS84 lon/lat order
+}
@@ -0,0 +1,14 @@
+package com.nisircop.le.geographicservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Part of the jurisdiction no boundary covers; area is approximate, geometry is WKT
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CoverageGap {
+    private double areaSquareMeters;
+    private String wkt;
+}
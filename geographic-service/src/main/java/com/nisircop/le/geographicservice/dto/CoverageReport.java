@@ -0,0 +1,20 @@
+package com.nisircop.le.geographicservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+// Result of the last overlap/gap analysis; gaps is null when no jurisdiction polygon is configured
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CoverageReport {
+    private Instant computedAt;
+    private int boundaryCount;
+    private List<BoundaryOverlap> overlaps;
+    private List<CoverageGap> gaps;
+    private Double uncoveredAreaSquareMeters;
+}
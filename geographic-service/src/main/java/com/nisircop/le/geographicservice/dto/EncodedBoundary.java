@@ -0,0 +1,19 @@
+package com.nisircop.le.geographicservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Boundary as encoded polylines (Google polyline algorithm, lat/lon order, scaled by 10^precision):
+// one list of rings per polygon, exterior ring first
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EncodedBoundary {
+    private Long userId;
+    private int zoom;
+    private int precision;
+    private List<List<String>> polygons;
+}
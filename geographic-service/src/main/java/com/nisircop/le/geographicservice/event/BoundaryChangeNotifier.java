@@ -0,0 +1,56 @@
+package com.nisircop.le.geographicservice.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Tells every incident-service instance to drop its cached copy of a changed boundary.
+ * Notification is best effort: an instance that misses it picks up the change when its cache entry expires.
+ */
+@Component
+public class BoundaryChangeNotifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(BoundaryChangeNotifier.class);
+    private static final String INCIDENT_SERVICE = "incident-service";
+
+    private final DiscoveryClient discoveryClient;
+    private final RestClient restClient;
+    private final String internalToken;
+
+    public BoundaryChangeNotifier(DiscoveryClient discoveryClient,
+                                  @Value("${geo.internal-token:}") String internalToken) {
+        this.discoveryClient = discoveryClient;
+        this.internalToken = internalToken;
+        if (internalToken.isBlank()) {
+            logger.warn("geo.internal-token (INTERNAL_API_TOKEN) is not set; incident-service will refuse boundary "
+                    + "invalidations and serve changed boundaries until its cache entries expire");
+        }
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(2000);
+        requestFactory.setReadTimeout(2000);
+        this.restClient = RestClient.builder().requestFactory(requestFactory).build();
+    }
+
+    @TransactionalEventListener
+    public void onBoundaryChanged(BoundaryChangedEvent event) {
+        for (ServiceInstance instance : discoveryClient.getInstances(INCIDENT_SERVICE)) {
+            try {
+                restClient.delete()
+                        .uri(instance.getUri() + "/api/v1/incidents/cache/boundaries/{userId}", event.userId())
+                        .header("X-Internal-Token", internalToken)
+                        .retrieve()
+                        .toBodilessEntity();
+            } catch (RestClientException e) {
+                logger.warn("Could not invalidate boundary {} on {}: {}", event.userId(), instance.getUri(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.nisircop.le.geographicservice.event;
+
+/**
+ * Published by {@code GeoService} when a user's boundary is replaced.
+ */
+public record BoundaryChangedEvent(Long userId) {
+}
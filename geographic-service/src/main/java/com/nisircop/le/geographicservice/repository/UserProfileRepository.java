@@ -2,11 +2,27 @@ package com.nisircop.le.geographicservice.repository;
 
 import com.nisircop.le.geographicservice.model.UserProfile;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.util.List;
 
 @Repository
 public interface UserProfileRepository extends JpaRepository<UserProfile, Long> {
-    Optional<UserProfile> findByUserId(Long userId);
-}
\ No newline at end of file
+
+    String POINT = "ST_SetSRID(ST_MakePoint(:lon, :lat), 4326)";
+
+    // Planar ST_Contains on the geometry cast, so the answers match the JTS contains() used by the in-memory
+    // and batch checks: straight lon/lat edges, and points on the boundary line are outside.
+    String BOUNDARY_CONTAINS = "ST_Contains(p.boundary::geometry, " + POINT + ")";
+
+    // Evaluated in PostGIS so only a boolean crosses the wire, not the polygon.
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM user_profiles p WHERE p.user_id = :userId " +
+            "AND " + BOUNDARY_CONTAINS + ")", nativeQuery = true)
+    boolean boundaryContains(@Param("userId") Long userId, @Param("lat") double lat, @Param("lon") double lon);
+
+    @Query(value = "SELECT p.user_id FROM user_profiles p WHERE " + BOUNDARY_CONTAINS + " " +
+            "ORDER BY p.user_id", nativeQuery = true)
+    List<Long> findOwnerIdsContaining(@Param("lat") double lat, @Param("lon") double lon);
+}
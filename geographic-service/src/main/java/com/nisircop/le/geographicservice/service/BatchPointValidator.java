@@ -0,0 +1,128 @@
+package com.nisircop.le.geographicservice.service;
+
+import com.nisircop.le.geographicservice.dto.PointValidationRequest;
+import com.nisircop.le.geographicservice.repository.UserProfileRepository;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Checks many points against their users' boundaries. Points are grouped by user so each boundary is looked up
+ * and prepared once; large batches are split into fixed-size chunks evaluated on a dedicated fork-join pool, so
+ * a bulk import cannot starve the common pool or request threads.
+ */
+@Component
+public class BatchPointValidator implements DisposableBean {
+
+    // Below this many points the fork/join overhead outweighs the work.
+    private static final int PARALLEL_THRESHOLD = 2048;
+    private static final int CHUNK_SIZE = 1024;
+
+    private record Chunk(IndexedBoundary boundary, int[] indices, int from, int to) {
+    }
+
+    private final BoundaryIndex boundaryIndex;
+    private final UserProfileRepository userProfileRepository;
+    private final ForkJoinPool pool;
+    private final GeometryFactory geometryFactory = new GeometryFactory();
+
+    public BatchPointValidator(BoundaryIndex boundaryIndex,
+                               UserProfileRepository userProfileRepository,
+                               @Value("${geo.validate-points.parallelism:0}") int parallelism) {
+        this.boundaryIndex = boundaryIndex;
+        this.userProfileRepository = userProfileRepository;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * One result per request, in request order. SUPER_USER points always pass; points of users without a
+     * boundary always fail.
+     */
+    public boolean[] validate(List<PointValidationRequest> requests) {
+        boolean[] results = new boolean[requests.size()];
+        Map<Long, IndexList> byUser = new HashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            PointValidationRequest request = requests.get(i);
+            if ("SUPER_USER".equals(request.getUserRole())) {
+                results[i] = true;
+            } else {
+                byUser.computeIfAbsent(request.getUserId(), userId -> new IndexList()).add(i);
+            }
+        }
+        Map<Long, IndexedBoundary> boundaries = boundaries(byUser.keySet());
+
+        List<Chunk> chunks = new ArrayList<>();
+        byUser.forEach((userId, indices) -> {
+            IndexedBoundary boundary = boundaries.get(userId);
+            if (boundary == null) {
+                return;
+            }
+            for (int from = 0; from < indices.size; from += CHUNK_SIZE) {
+                chunks.add(new Chunk(boundary, indices.values, from, Math.min(from + CHUNK_SIZE, indices.size)));
+            }
+        });
+        // Each chunk writes a disjoint set of indices, and join() publishes the writes to this thread.
+        if (requests.size() < PARALLEL_THRESHOLD) {
+            chunks.forEach(chunk -> evaluate(chunk, requests, results));
+        } else {
+            pool.submit(() -> chunks.parallelStream().forEach(chunk -> evaluate(chunk, requests, results))).join();
+        }
+        return results;
+    }
+
+    private void evaluate(Chunk chunk, List<PointValidationRequest> requests, boolean[] results) {
+        for (int i = chunk.from(); i < chunk.to(); i++) {
+            int index = chunk.indices()[i];
+            PointValidationRequest request = requests.get(index);
+            results[index] = chunk.boundary().contains(
+                    geometryFactory.createPoint(new Coordinate(request.getLongitude(), request.getLatitude())));
+        }
+    }
+
+    private Map<Long, IndexedBoundary> boundaries(Iterable<Long> userIds) {
+        Map<Long, IndexedBoundary> boundaries = new HashMap<>();
+        if (boundaryIndex.isLoaded()) {
+            userIds.forEach(userId -> {
+                IndexedBoundary boundary = boundaryIndex.boundary(userId);
+                if (boundary != null) {
+                    boundaries.put(userId, boundary);
+                }
+            });
+            return boundaries;
+        }
+        // Index still loading: one query for every user in the batch.
+        userProfileRepository.findAllById(userIds).forEach(profile -> {
+            if (profile.getBoundary() != null) {
+                boundaries.put(profile.getId(), IndexedBoundary.of(profile.getBoundary(), 0));
+            }
+        });
+        return boundaries;
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+
+    // Growable int array, so large groups do not box every index.
+    private static final class IndexList {
+        int[] values = new int[8];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
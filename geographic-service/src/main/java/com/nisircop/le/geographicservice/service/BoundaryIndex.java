@@ -0,0 +1,173 @@
+package com.nisircop.le.geographicservice.service;
+
+import com.nisircop.le.geographicservice.event.BoundaryChangedEvent;
+import com.nisircop.le.geographicservice.model.UserProfile;
+import com.nisircop.le.geographicservice.repository.UserProfileRepository;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.index.strtree.STRtree;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Every user's boundary held in memory as an {@link IndexedBoundary} (prepared geometry plus cell cover), behind
+ * an STRtree over their envelopes.
+ * Answers both "is this point inside user X's boundary" and "whose boundaries cover this point" without a
+ * database round-trip.
+ *
+ * <p>Readers see an immutable snapshot; a change builds a new one and swaps it in, so lookups never block.
+ * Boundaries changed through this instance are picked up as soon as the change commits; changes made
+ * through another instance, or directly in the database, on the next periodic reload. Building an
+ * {@link IndexedBoundary} is the expensive part, so it happens outside the lock, and boundaries whose geometry
+ * is unchanged keep their existing one.
+ */
+@Component
+public class BoundaryIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(BoundaryIndex.class);
+
+    private record Snapshot(Map<Long, IndexedBoundary> boundaries, STRtree tree) {
+    }
+
+    private record Entry(Long userId, IndexedBoundary boundary) {
+    }
+
+    private final UserProfileRepository userProfileRepository;
+    private final int coverDepth;
+    // Serialises reloads with each other; snapshot swaps synchronise on this.
+    private final Object reloadLock = new Object();
+    private volatile Snapshot snapshot;
+
+    public BoundaryIndex(UserProfileRepository userProfileRepository,
+                         @Value("${geo.boundary-index.cell-cover-depth:8}") int coverDepth) {
+        this.userProfileRepository = userProfileRepository;
+        this.coverDepth = coverDepth;
+    }
+
+    /** False until the first load has finished; callers fall back to the database until then. */
+    public boolean isLoaded() {
+        return snapshot != null;
+    }
+
+    public boolean contains(Long userId, Point point) {
+        IndexedBoundary boundary = boundary(userId);
+        return boundary != null && boundary.contains(point);
+    }
+
+    /** The user's indexed boundary, or null when the user has none. */
+    public IndexedBoundary boundary(Long userId) {
+        return snapshot.boundaries().get(userId);
+    }
+
+    /** Ids of the users whose boundary contains the point, in ascending order. */
+    public List<Long> owners(Point point) {
+        List<Long> owners = new ArrayList<>();
+        for (Object candidate : snapshot.tree().query(point.getEnvelopeInternal())) {
+            Entry entry = (Entry) candidate;
+            if (entry.boundary().contains(point)) {
+                owners.add(entry.userId());
+            }
+        }
+        owners.sort(null);
+        return owners;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${geo.boundary-index.reload-interval-ms:300000}",
+               initialDelayString = "${geo.boundary-index.reload-interval-ms:300000}")
+    public void reload() {
+        synchronized (reloadLock) {
+            try {
+                Snapshot base = snapshot;
+                Map<Long, IndexedBoundary> boundaries = new HashMap<>();
+                int rebuilt = 0;
+                for (UserProfile profile : userProfileRepository.findAll()) {
+                    if (profile.getBoundary() != null) {
+                        IndexedBoundary previous = base == null ? null : base.boundaries().get(profile.getId());
+                        IndexedBoundary boundary = index(profile.getBoundary(), previous);
+                        if (boundary != previous) {
+                            rebuilt++;
+                        }
+                        boundaries.put(profile.getId(), boundary);
+                    }
+                }
+                synchronized (this) {
+                    if (base != null) {
+                        keepChangesSince(base, boundaries);
+                    }
+                    publish(boundaries);
+                }
+                logger.info("Boundary index loaded with {} boundaries ({} rebuilt)", boundaries.size(), rebuilt);
+            } catch (DataAccessException e) {
+                logger.error("Could not load boundary index: {}", e.getMessage());
+            }
+        }
+    }
+
+    @TransactionalEventListener
+    public void onBoundaryChanged(BoundaryChangedEvent event) {
+        Snapshot base = snapshot;
+        if (base == null) {
+            return; // the first load has not succeeded yet and will read the committed boundary
+        }
+        IndexedBoundary boundary = userProfileRepository.findById(event.userId())
+                .map(UserProfile::getBoundary)
+                .map(geometry -> index(geometry, base.boundaries().get(event.userId())))
+                .orElse(null);
+        synchronized (this) {
+            Map<Long, IndexedBoundary> boundaries = new HashMap<>(snapshot.boundaries());
+            if (boundary == null) {
+                boundaries.remove(event.userId());
+            } else {
+                boundaries.put(event.userId(), boundary);
+            }
+            publish(boundaries);
+        }
+    }
+
+    private IndexedBoundary index(Geometry geometry, IndexedBoundary previous) {
+        if (previous != null && previous.getGeometry().equalsExact(geometry)) {
+            return previous; // skips re-preparing the geometry and rebuilding its cell cover
+        }
+        return IndexedBoundary.of(geometry, coverDepth);
+    }
+
+    // A change applied while a reload was reading is at least as new as what the reload read, so it wins.
+    private void keepChangesSince(Snapshot base, Map<Long, IndexedBoundary> boundaries) {
+        Map<Long, IndexedBoundary> current = snapshot.boundaries();
+        if (current == base.boundaries()) {
+            return;
+        }
+        current.forEach((userId, boundary) -> {
+            if (base.boundaries().get(userId) != boundary) {
+                boundaries.put(userId, boundary);
+            }
+        });
+        base.boundaries().keySet().forEach(userId -> {
+            if (!current.containsKey(userId)) {
+                boundaries.remove(userId);
+            }
+        });
+    }
+
+    private synchronized void publish(Map<Long, IndexedBoundary> boundaries) {
+        STRtree tree = new STRtree();
+        boundaries.forEach((userId, boundary) ->
+                tree.insert(boundary.getGeometry().getEnvelopeInternal(), new Entry(userId, boundary)));
+        // Build now: a lazily built tree would be built by whichever reader queried it first.
+        tree.build();
+        snapshot = new Snapshot(Map.copyOf(boundaries), tree);
+    }
+}
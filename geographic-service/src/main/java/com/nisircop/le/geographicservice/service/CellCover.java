@@ -0,0 +1,151 @@
+package com.nisircop.le.geographicservice.service;
+
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+
+/**
+ * Quadtree cover of one boundary on a global lon/lat grid: level k splits the world into 2^k x 2^k cells.
+ * Starting from the few cells around the boundary's envelope, every cell is classified as fully inside, fully
+ * outside or crossing the edge; edge cells are split until {@code depth} levels below the start.
+ *
+ * <p>The levels down to a budget of {@value #MAX_GRID_CELLS} cells over the envelope are flattened into a dense
+ * byte grid, so most points resolve with one array read. Only
+ * points in edge cells of that grid walk down the deeper levels, one cell-id probe per level in a primitive
+ * map, and only points that end in an edge cell of the finest level need an exact geometry test.
+ *
+ * <p>Immutable once built, so it can be read from any thread.
+ */
+final class CellCover {
+
+    static final byte OUTSIDE = 0;
+    static final byte INSIDE = 1;
+    static final byte EDGE = 2;
+    // Crossing the edge but refined further; only seen internally while walking down.
+    private static final byte SPLIT = 3;
+
+    private static final int MAX_LEVEL = 28;   // 2^28 cells per axis, about 15 cm of longitude at the equator
+    private static final int MAX_GRID_CELLS = 4096;  // one byte each
+    private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory();
+
+    private final int gridLevel;
+    private final int maxLevel;
+    private final int gridX;
+    private final int gridY;
+    private final int gridWidth;
+    private final int gridHeight;
+    private final byte[] grid;
+    private final LongByteMap cells = new LongByteMap(1024);
+
+    private CellCover(int minLevel, int depth, Envelope envelope) {
+        this.maxLevel = Math.min(MAX_LEVEL, minLevel + depth);
+        // Finest level whose cells over the envelope still fit the grid budget
+        int level = minLevel;
+        while (level < maxLevel && span(level + 1, envelope) <= MAX_GRID_CELLS) {
+            level++;
+        }
+        this.gridLevel = level;
+        this.gridX = cellX(gridLevel, envelope.getMinX());
+        this.gridY = cellY(gridLevel, envelope.getMinY());
+        this.gridWidth = cellX(gridLevel, envelope.getMaxX()) - gridX + 1;
+        this.gridHeight = cellY(gridLevel, envelope.getMaxY()) - gridY + 1;
+        this.grid = new byte[gridWidth * gridHeight];
+    }
+
+    static CellCover build(PreparedGeometry boundary, int depth) {
+        Envelope envelope = boundary.getGeometry().getEnvelopeInternal();
+        // Coarsest level at which the envelope spans at most two cells per axis
+        int fit = (int) Math.floor(Math.min(log2(360 / Math.max(envelope.getWidth(), 1e-9)),
+                log2(180 / Math.max(envelope.getHeight(), 1e-9))));
+        int minLevel = Math.max(0, Math.min(fit, MAX_LEVEL - depth));
+        CellCover cover = new CellCover(minLevel, depth, envelope);
+        for (int x = cellX(minLevel, envelope.getMinX()); x <= cellX(minLevel, envelope.getMaxX()); x++) {
+            for (int y = cellY(minLevel, envelope.getMinY()); y <= cellY(minLevel, envelope.getMaxY()); y++) {
+                cover.classify(boundary, minLevel, x, y);
+            }
+        }
+        return cover;
+    }
+
+    /** {@link #INSIDE}, {@link #OUTSIDE}, or {@link #EDGE} when only an exact test can tell. */
+    byte classify(double lon, double lat) {
+        int x = cellX(gridLevel, lon) - gridX;
+        int y = cellY(gridLevel, lat) - gridY;
+        if (x < 0 || y < 0 || x >= gridWidth || y >= gridHeight) {
+            return OUTSIDE;
+        }
+        byte state = grid[y * gridWidth + x];
+        for (int level = gridLevel + 1; state == SPLIT; level++) {
+            state = cells.get(cellId(level, cellX(level, lon), cellY(level, lat)));
+        }
+        return state;
+    }
+
+    private void classify(PreparedGeometry boundary, int level, int x, int y) {
+        double width = 360.0 / (1L << level);
+        double height = 180.0 / (1L << level);
+        Geometry cell = GEOMETRY_FACTORY.toGeometry(new Envelope(
+                -180 + x * width, -180 + (x + 1) * width, -90 + y * height, -90 + (y + 1) * height));
+        if (boundary.disjoint(cell)) {
+            return; // absent means outside
+        }
+        // containsProperly, not covers: a cell touching the boundary line may hold points that contains() rejects
+        byte state = boundary.containsProperly(cell) ? INSIDE : level == maxLevel ? EDGE : SPLIT;
+        mark(level, x, y, state);
+        if (state == SPLIT) {
+            for (int dx = 0; dx < 2; dx++) {
+                for (int dy = 0; dy < 2; dy++) {
+                    classify(boundary, level + 1, 2 * x + dx, 2 * y + dy);
+                }
+            }
+        }
+    }
+
+    private void mark(int level, int x, int y, byte state) {
+        if (level > gridLevel) {
+            cells.put(cellId(level, x, y), state);
+            return;
+        }
+        if (level < gridLevel && state == SPLIT) {
+            return; // the children fill in the grid
+        }
+        // A cell at or above the grid level covers a square block of grid cells.
+        int shift = gridLevel - level;
+        for (int gx = x << shift; gx < (x + 1) << shift; gx++) {
+            for (int gy = y << shift; gy < (y + 1) << shift; gy++) {
+                int localX = gx - gridX;
+                int localY = gy - gridY;
+                if (localX >= 0 && localY >= 0 && localX < gridWidth && localY < gridHeight) {
+                    grid[localY * gridWidth + localX] = state;
+                }
+            }
+        }
+    }
+
+    private static long span(int level, Envelope envelope) {
+        return (long) (cellX(level, envelope.getMaxX()) - cellX(level, envelope.getMinX()) + 1)
+                * (cellY(level, envelope.getMaxY()) - cellY(level, envelope.getMinY()) + 1);
+    }
+
+    // level + 1 in the top bits keeps every id non-zero, which LongByteMap reserves for empty slots.
+    private static long cellId(int level, int x, int y) {
+        return ((long) (level + 1) << 58) | ((long) x << 29) | y;
+    }
+
+    private static int cellX(int level, double lon) {
+        return clamp((int) Math.floor((lon + 180) / 360 * (1L << level)), level);
+    }
+
+    private static int cellY(int level, double lat) {
+        return clamp((int) Math.floor((lat + 90) / 180 * (1L << level)), level);
+    }
+
+    private static int clamp(int cell, int level) {
+        return Math.max(0, Math.min(cell, (1 << level) - 1));
+    }
+
+    private static double log2(double value) {
+        return Math.log(value) / Math.log(2);
+    }
+}
@@ -0,0 +1,282 @@
+package com.nisircop.le.geographicservice.service;
+
+import com.nisircop.le.geographicservice.dto.BoundaryOverlap;
+import com.nisircop.le.geographicservice.dto.CoverageGap;
+import com.nisircop.le.geographicservice.dto.CoverageReport;
+import com.nisircop.le.geographicservice.event.BoundaryChangedEvent;
+import com.nisircop.le.geographicservice.model.UserProfile;
+import com.nisircop.le.geographicservice.repository.UserProfileRepository;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Polygonal;
+import org.locationtech.jts.geom.TopologyException;
+import org.locationtech.jts.index.strtree.STRtree;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKTReader;
+import org.locationtech.jts.operation.union.UnaryUnionOp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Checks that the boundaries in {@code user_profiles} tile the jurisdiction: every pair of boundaries that
+ * share area, and every part of the configured jurisdiction polygon no boundary covers.
+ *
+ * <p>A full analysis pairs boundaries through an STRtree over their envelopes and intersects the candidate
+ * pairs on a dedicated fork-join pool. A changed boundary is then handled incrementally: only its own pairs
+ * are redone, and the gaps are patched with the area it gave up and the area it now covers. The periodic full
+ * analysis also picks up changes made through other instances and clears slivers the patching may leave.
+ *
+ * <p>All analyses run one at a time on a single worker thread; readers get the last finished report. Full
+ * analyses requested while one is already waiting are merged into it.
+ */
+@Component
+public class CoverageAnalyzer implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(CoverageAnalyzer.class);
+    private static final double METERS_PER_DEGREE = 111_320;
+
+    private record Entry(Long userId, Geometry boundary) {
+    }
+
+    private record State(Map<Long, Geometry> boundaries, List<BoundaryOverlap> overlaps, Geometry uncovered) {
+    }
+
+    private final UserProfileRepository userProfileRepository;
+    private final Geometry jurisdiction;
+    private final double minAreaSquareMeters;
+    private final ForkJoinPool pool;
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "coverage-analysis");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final GeometryFactory geometryFactory = new GeometryFactory();
+    private final AtomicBoolean fullRunPending = new AtomicBoolean();
+    private State state; // only read and written on the worker thread
+    private volatile CoverageReport report;
+
+    public CoverageAnalyzer(UserProfileRepository userProfileRepository,
+                            @Value("${geo.coverage.jurisdiction-wkt:}") String jurisdictionWkt,
+                            @Value("${geo.coverage.min-area-m2:1}") double minAreaSquareMeters,
+                            @Value("${geo.coverage.parallelism:0}") int parallelism) {
+        this.userProfileRepository = userProfileRepository;
+        this.jurisdiction = parseJurisdiction(jurisdictionWkt);
+        this.minAreaSquareMeters = minAreaSquareMeters;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    /** The last finished analysis, empty until the first one completes. */
+    public Optional<CoverageReport> report() {
+        return Optional.ofNullable(report);
+    }
+
+    /** Queues a full analysis unless one is already waiting to start; returns immediately. */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${geo.coverage.recompute-interval-ms:3600000}",
+               initialDelayString = "${geo.coverage.recompute-interval-ms:3600000}")
+    public void recompute() {
+        if (!fullRunPending.compareAndSet(false, true)) {
+            return;
+        }
+        worker.execute(() -> {
+            // Cleared before reading, so a request arriving during this run queues one that sees its changes.
+            fullRunPending.set(false);
+            analyse();
+        });
+    }
+
+    @TransactionalEventListener
+    public void onBoundaryChanged(BoundaryChangedEvent event) {
+        worker.execute(() -> update(event.userId()));
+    }
+
+    private void analyse() {
+        try {
+            Map<Long, Geometry> boundaries = new HashMap<>();
+            for (UserProfile profile : userProfileRepository.findAll()) {
+                if (profile.getBoundary() != null) {
+                    boundaries.put(profile.getId(), profile.getBoundary());
+                }
+            }
+            STRtree tree = index(boundaries);
+            List<Entry[]> pairs = new ArrayList<>();
+            boundaries.forEach((userId, boundary) -> {
+                for (Object candidate : tree.query(boundary.getEnvelopeInternal())) {
+                    Entry other = (Entry) candidate;
+                    if (userId < other.userId()) {
+                        pairs.add(new Entry[]{new Entry(userId, boundary), other});
+                    }
+                }
+            });
+            List<BoundaryOverlap> overlaps = new ArrayList<>(pool.submit(() -> pairs.parallelStream()
+                    .map(pair -> overlap(pair[0], pair[1]))
+                    .filter(Objects::nonNull)
+                    .toList()).join());
+            Geometry uncovered = jurisdiction == null ? null : jurisdiction.difference(union(boundaries.values()));
+            publish(new State(boundaries, overlaps, uncovered));
+            logger.info("Coverage analysed: {} boundaries, {} candidate pairs, {} overlaps",
+                    boundaries.size(), pairs.size(), overlaps.size());
+        } catch (DataAccessException | TopologyException e) {
+            logger.error("Could not analyse boundary coverage: {}", e.getMessage());
+        }
+    }
+
+    private void update(Long userId) {
+        if (state == null) {
+            analyse(); // nothing to patch yet
+            return;
+        }
+        try {
+            Geometry previous = state.boundaries().get(userId);
+            Geometry current = userProfileRepository.findById(userId).map(UserProfile::getBoundary).orElse(null);
+            Map<Long, Geometry> boundaries = new HashMap<>(state.boundaries());
+            boundaries.remove(userId);
+            STRtree others = index(boundaries);
+
+            List<BoundaryOverlap> overlaps = new ArrayList<>();
+            for (BoundaryOverlap overlap : state.overlaps()) {
+                if (!userId.equals(overlap.getUserId()) && !userId.equals(overlap.getOtherUserId())) {
+                    overlaps.add(overlap);
+                }
+            }
+            Geometry uncovered = state.uncovered();
+            if (previous != null && uncovered != null) {
+                // What only the old boundary covered is uncovered again; the rest is still held by its neighbours.
+                Geometry released = jurisdiction.intersection(previous)
+                        .difference(union(boundaries(others.query(previous.getEnvelopeInternal()))));
+                uncovered = uncovered.union(released);
+            }
+            if (current != null) {
+                Entry changed = new Entry(userId, current);
+                List<Entry> candidates = entries(others.query(current.getEnvelopeInternal()));
+                overlaps.addAll(pool.submit(() -> candidates.parallelStream()
+                        .map(other -> overlap(changed, other))
+                        .filter(Objects::nonNull)
+                        .toList()).join());
+                if (uncovered != null) {
+                    uncovered = uncovered.difference(current);
+                }
+                boundaries.put(userId, current);
+            }
+            publish(new State(boundaries, overlaps, uncovered));
+        } catch (DataAccessException | TopologyException e) {
+            logger.error("Could not update coverage for boundary {}: {}", userId, e.getMessage());
+        }
+    }
+
+    private BoundaryOverlap overlap(Entry a, Entry b) {
+        if (a.userId() > b.userId()) {
+            return overlap(b, a);
+        }
+        if (!a.boundary().intersects(b.boundary())) {
+            return null;
+        }
+        Geometry shared = a.boundary().intersection(b.boundary());
+        double area = squareMeters(shared);
+        if (area < minAreaSquareMeters) {
+            return null; // neighbours sharing an edge, or a rounding sliver along it
+        }
+        boolean nested = a.boundary().covers(b.boundary()) || b.boundary().covers(a.boundary());
+        return new BoundaryOverlap(a.userId(), b.userId(), nested, area, shared.toText());
+    }
+
+    private void publish(State next) {
+        state = next;
+        List<BoundaryOverlap> overlaps = new ArrayList<>(next.overlaps());
+        overlaps.sort(Comparator.comparing(BoundaryOverlap::getUserId).thenComparing(BoundaryOverlap::getOtherUserId));
+        List<CoverageGap> gaps = null;
+        Double uncoveredArea = null;
+        if (next.uncovered() != null) {
+            gaps = new ArrayList<>();
+            double total = 0;
+            for (int i = 0; i < next.uncovered().getNumGeometries(); i++) {
+                Geometry part = next.uncovered().getGeometryN(i);
+                double area = squareMeters(part);
+                if (area >= minAreaSquareMeters) {
+                    gaps.add(new CoverageGap(area, part.toText()));
+                    total += area;
+                }
+            }
+            gaps.sort(Comparator.comparingDouble(CoverageGap::getAreaSquareMeters).reversed());
+            uncoveredArea = total;
+        }
+        report = new CoverageReport(Instant.now(), next.boundaries().size(), List.copyOf(overlaps),
+                gaps == null ? null : List.copyOf(gaps), uncoveredArea);
+    }
+
+    private STRtree index(Map<Long, Geometry> boundaries) {
+        STRtree tree = new STRtree();
+        boundaries.forEach((userId, boundary) -> tree.insert(boundary.getEnvelopeInternal(), new Entry(userId, boundary)));
+        tree.build();
+        return tree;
+    }
+
+    private static List<Entry> entries(List<?> candidates) {
+        List<Entry> entries = new ArrayList<>(candidates.size());
+        for (Object candidate : candidates) {
+            entries.add((Entry) candidate);
+        }
+        return entries;
+    }
+
+    private static List<Geometry> boundaries(List<?> candidates) {
+        return entries(candidates).stream().map(Entry::boundary).toList();
+    }
+
+    // Cascaded union; an empty collection gives an empty geometry rather than null.
+    private Geometry union(Collection<Geometry> geometries) {
+        return UnaryUnionOp.union(geometries, geometryFactory);
+    }
+
+    // Planar lon/lat area scaled at the geometry's centre latitude; close enough for city-sized boundaries.
+    private static double squareMeters(Geometry geometry) {
+        if (geometry.isEmpty()) {
+            return 0;
+        }
+        double latitude = geometry.getEnvelopeInternal().centre().getY();
+        return geometry.getArea() * METERS_PER_DEGREE * METERS_PER_DEGREE * Math.cos(Math.toRadians(latitude));
+    }
+
+    private Geometry parseJurisdiction(String wkt) {
+        if (wkt == null || wkt.isBlank()) {
+            return null;
+        }
+        try {
+            Geometry geometry = new WKTReader(geometryFactory).read(wkt);
+            if (!(geometry instanceof Polygonal) || !geometry.isValid()) {
+                throw new IllegalArgumentException("geo.coverage.jurisdiction-wkt must be a valid POLYGON or MULTIPOLYGON");
+            }
+            return geometry;
+        } catch (ParseException e) {
+            throw new IllegalArgumentException("geo.coverage.jurisdiction-wkt is not valid WKT: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        worker.shutdownNow();
+        pool.shutdownNow();
+    }
+}
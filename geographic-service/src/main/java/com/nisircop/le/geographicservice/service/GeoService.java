@@ -1,11 +1,24 @@
 package com.nisircop.le.geographicservice.service;
 
+import com.nisircop.le.geographicservice.dto.PointValidationRequest;
+import com.nisircop.le.geographicservice.event.BoundaryChangedEvent;
 import com.nisircop.le.geographicservice.model.UserProfile;
 import com.nisircop.le.geographicservice.repository.UserProfileRepository;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKBWriter;
+import org.locationtech.jts.io.WKTReader;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -14,13 +27,120 @@ public class GeoService {
     @Autowired
     private UserProfileRepository userProfileRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private BoundaryIndex boundaryIndex;
+
+    @Autowired
+    private BatchPointValidator batchPointValidator;
+
+    /**
+     * Where single-point checks and owner lookups are evaluated:
+     * INDEX in memory (falling back to JVM until the index has loaded), DATABASE as an ST_Contains query
+     * that returns only the answer, or JVM by loading the polygon and testing it with JTS. All three use
+     * planar lon/lat containment with boundary points outside, the same as batch validation, so the mode
+     * changes where the work happens, never the answer.
+     */
+    public enum PointCheckMode { INDEX, DATABASE, JVM }
+
+    @Value("${geo.point-check.mode:index}")
+    private PointCheckMode pointCheckMode;
+
+    private final GeometryFactory geometryFactory = new GeometryFactory();
+
+    // Profiles share their id with the user (@MapsId), so lookups go by primary key. They are deliberately not
+    // second-level cached: incident-service reloads a boundary from any instance right after it is edited.
     public Optional<UserProfile> getBoundaryByUserId(Long userId) {
-        return userProfileRepository.findByUserId(userId);
+        return userProfileRepository.findById(userId);
+    }
+
+    public Optional<String> getBoundaryWkb(Long userId) {
+        return userProfileRepository.findById(userId)
+                .map(UserProfile::getBoundary)
+                .map(boundary -> WKBWriter.toHex(new WKBWriter().write(boundary)));
+    }
+
+    /** Parses a boundary edit; rejects anything but a single valid POLYGON. */
+    public Geometry parseBoundary(String wkt) {
+        Geometry boundary;
+        try {
+            boundary = new WKTReader(geometryFactory).read(wkt);
+        } catch (ParseException e) {
+            throw new IllegalArgumentException("Boundary is not valid WKT: " + e.getMessage(), e);
+        }
+        if (!(boundary instanceof Polygon) || !boundary.isValid()) {
+            throw new IllegalArgumentException("Boundary must be a single valid POLYGON");
+        }
+        boundary.setSRID(4326);
+        return boundary;
+    }
+
+    /** Whether the user's own boundary covers {@code area}; false when the user has no boundary. */
+    public boolean boundaryCovers(Long userId, Geometry area) {
+        return userProfileRepository.findById(userId)
+                .map(UserProfile::getBoundary)
+                .map(boundary -> boundary.covers(area))
+                .orElse(false);
+    }
+
+    /**
+     * Replaces a user's boundary and announces the change once the transaction commits.
+     */
+    @Transactional
+    public Optional<UserProfile> updateBoundary(Long userId, Geometry boundary) {
+        return userProfileRepository.findById(userId).map(profile -> {
+            profile.setBoundary(boundary);
+            UserProfile saved = userProfileRepository.save(profile);
+            eventPublisher.publishEvent(new BoundaryChangedEvent(userId));
+            return saved;
+        });
     }
 
     public boolean isPointInBoundary(Long userId, Point point) {
-        return userProfileRepository.findByUserId(userId)
+        if (pointCheckMode == PointCheckMode.DATABASE) {
+            return userProfileRepository.boundaryContains(userId, point.getY(), point.getX());
+        }
+        if (pointCheckMode == PointCheckMode.INDEX && boundaryIndex.isLoaded()) {
+            return boundaryIndex.contains(userId, point);
+        }
+        return userProfileRepository.findById(userId)
                 .map(profile -> profile.getBoundary() != null && profile.getBoundary().contains(point))
                 .orElse(false); // Or handle as an error if the user must have a boundary
     }
-}
\ No newline at end of file
+
+    /**
+     * Ids of the users (stations and officers) whose boundary contains the point.
+     */
+    public List<Long> getBoundaryOwners(Point point) {
+        if (pointCheckMode == PointCheckMode.DATABASE) {
+            return userProfileRepository.findOwnerIdsContaining(point.getY(), point.getX());
+        }
+        if (pointCheckMode == PointCheckMode.INDEX && boundaryIndex.isLoaded()) {
+            return boundaryIndex.owners(point);
+        }
+        return userProfileRepository.findAll().stream()
+                .filter(profile -> profile.getBoundary() != null && profile.getBoundary().contains(point))
+                .map(UserProfile::getId)
+                .sorted()
+                .toList();
+    }
+
+    /**
+     * Validates many points, loading and preparing each user's boundary once; results are returned in
+     * request order.
+     */
+    public boolean[] validatePoints(List<PointValidationRequest> requests) {
+        return batchPointValidator.validate(requests);
+    }
+
+    public List<Boolean> arePointsInBoundaries(List<PointValidationRequest> requests) {
+        boolean[] valid = validatePoints(requests);
+        List<Boolean> results = new ArrayList<>(valid.length);
+        for (boolean result : valid) {
+            results.add(result);
+        }
+        return results;
+    }
+}
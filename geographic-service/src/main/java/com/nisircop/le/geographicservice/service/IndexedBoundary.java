@@ -0,0 +1,41 @@
+package com.nisircop.le.geographicservice.service;
+
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+
+/**
+ * A boundary ready for repeated point tests: the prepared geometry, plus an optional {@link CellCover} that
+ * answers most points without polygon math.
+ */
+public final class IndexedBoundary {
+
+    private final PreparedGeometry prepared;
+    private final CellCover cover;
+
+    private IndexedBoundary(PreparedGeometry prepared, CellCover cover) {
+        this.prepared = prepared;
+        this.cover = cover;
+    }
+
+    /** A {@code coverDepth} of 0 skips the cell cover, for boundaries only tested a few times. */
+    public static IndexedBoundary of(Geometry boundary, int coverDepth) {
+        PreparedGeometry prepared = PreparedGeometryFactory.prepare(boundary);
+        return new IndexedBoundary(prepared, coverDepth > 0 ? CellCover.build(prepared, coverDepth) : null);
+    }
+
+    public boolean contains(Point point) {
+        if (cover != null) {
+            byte state = cover.classify(point.getX(), point.getY());
+            if (state != CellCover.EDGE) {
+                return state == CellCover.INSIDE;
+            }
+        }
+        return prepared.contains(point);
+    }
+
+    public Geometry getGeometry() {
+        return prepared.getGeometry();
+    }
+}
@@ -0,0 +1,64 @@
+package com.nisircop.le.geographicservice.service;
+
+/**
+ * Open-addressing hash map from non-zero {@code long} keys to {@code byte} values, without boxing.
+ * Missing keys read as 0. Not thread-safe while being filled; safe to share once fully built.
+ */
+final class LongByteMap {
+
+    private long[] keys;
+    private byte[] values;
+    private int size;
+
+    LongByteMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        keys = new long[capacity];
+        values = new byte[capacity];
+    }
+
+    byte get(long key) {
+        int mask = keys.length - 1;
+        for (int slot = slot(key, mask); keys[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+        }
+        return 0;
+    }
+
+    void put(long key, byte value) {
+        // Keep the load factor at or below one half so probe sequences stay short.
+        if ((size + 1) * 2 > keys.length) {
+            resize();
+        }
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        while (keys[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        if (keys[slot] == 0) {
+            keys[slot] = key;
+            size++;
+        }
+        values[slot] = value;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        byte[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new byte[oldKeys.length * 2];
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private static int slot(long key, int mask) {
+        // Cell ids differ mostly in their low bits; mix the whole key so neighbouring cells spread out.
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,187 @@
+package com.nisircop.le.geographicservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nisircop.le.geographicservice.model.UserProfile;
+import com.nisircop.le.geographicservice.repository.UserProfileRepository;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.precision.GeometryPrecisionReducer;
+import org.locationtech.jts.simplify.TopologyPreservingSimplifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Boundaries simplified for map rendering at a few zoom levels, each pre-encoded as quantized GeoJSON and as
+ * encoded polylines. Every level drops detail smaller than half a screen pixel at that zoom and keeps only the
+ * decimals that are still visible, which is where most of the payload reduction comes from.
+ *
+ * <p>All levels of a boundary are built together on first request. Entries remember the geometry they were
+ * built from and are rebuilt once the current boundary differs from it in shape, not merely in identity.
+ */
+@Component
+public class SimplifiedBoundaryCache {
+
+    // Precomputed levels; a request is served from the first level at or above its zoom, and zooms above the
+    // last level get the full-precision boundary.
+    static final int[] ZOOM_LEVELS = {6, 9, 12, 15};
+    private static final int FULL_PRECISION = 7;
+
+    public enum Encoding {
+        GEOJSON, POLYLINE;
+
+        public static Encoding parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new IllegalArgumentException("encoding must be geojson or polyline");
+            }
+        }
+    }
+
+    /** One zoom level of a boundary in both encodings; {@code precision} is the number of decimals kept. */
+    public record Rendition(int zoom, int precision, String geoJson, List<List<String>> polylines) {
+    }
+
+    private record Entry(Geometry source, Rendition[] renditions) {
+    }
+
+    private final BoundaryIndex boundaryIndex;
+    private final UserProfileRepository userProfileRepository;
+    private final Cache<Long, Entry> cache;
+
+    public SimplifiedBoundaryCache(BoundaryIndex boundaryIndex,
+                                   UserProfileRepository userProfileRepository,
+                                   @Value("${geo.simplified-boundaries.max-size:10000}") long maxSize) {
+        this.boundaryIndex = boundaryIndex;
+        this.userProfileRepository = userProfileRepository;
+        this.cache = Caffeine.newBuilder().maximumSize(maxSize).build();
+    }
+
+    public Optional<Rendition> get(Long userId, int zoom) {
+        Geometry source = currentBoundary(userId);
+        if (source == null) {
+            cache.invalidate(userId);
+            return Optional.empty();
+        }
+        Entry entry = cache.getIfPresent(userId);
+        if (entry == null || !entry.source().equalsExact(source)) {
+            entry = new Entry(source, build(source));
+            cache.put(userId, entry);
+        } else if (entry.source() != source) {
+            // Same shape, new instance (an index reload, or a read from the database): keep the renditions and
+            // remember this instance, so the next check ends at the reference comparison inside equalsExact.
+            entry = new Entry(source, entry.renditions());
+            cache.put(userId, entry);
+        }
+        return Optional.of(entry.renditions()[levelFor(zoom)]);
+    }
+
+    private Geometry currentBoundary(Long userId) {
+        if (boundaryIndex.isLoaded()) {
+            IndexedBoundary boundary = boundaryIndex.boundary(userId);
+            return boundary == null ? null : boundary.getGeometry();
+        }
+        return userProfileRepository.findById(userId).map(UserProfile::getBoundary).orElse(null);
+    }
+
+    private static int levelFor(int zoom) {
+        for (int i = 0; i < ZOOM_LEVELS.length; i++) {
+            if (zoom <= ZOOM_LEVELS[i]) {
+                return i;
+            }
+        }
+        return ZOOM_LEVELS.length;
+    }
+
+    static Rendition[] build(Geometry source) {
+        Rendition[] renditions = new Rendition[ZOOM_LEVELS.length + 1];
+        for (int i = 0; i < ZOOM_LEVELS.length; i++) {
+            // Degrees of longitude per pixel of a 256px web-mercator tile at this zoom; half of it is invisible.
+            double tolerance = 360.0 / (256 << ZOOM_LEVELS[i]) / 2;
+            int precision = Math.min(FULL_PRECISION, (int) Math.ceil(-Math.log10(tolerance)) + 1);
+            Geometry simplified = TopologyPreservingSimplifier.simplify(source, tolerance);
+            renditions[i] = render(snapToGrid(simplified, precision), ZOOM_LEVELS[i], precision);
+        }
+        renditions[ZOOM_LEVELS.length] =
+                render(snapToGrid(source, FULL_PRECISION), ZOOM_LEVELS[ZOOM_LEVELS.length - 1] + 1, FULL_PRECISION);
+        return renditions;
+    }
+
+    // Rounding alone can merge neighbouring vertices or pinch a narrow part into a self-touching ring; the
+    // reducer snaps to the same grid, drops the repeated vertices and collapsed parts, and repairs what is left.
+    private static Geometry snapToGrid(Geometry geometry, int precision) {
+        return GeometryPrecisionReducer.reduce(geometry, new PrecisionModel(Math.pow(10, precision)));
+    }
+
+    private static Rendition render(Geometry geometry, int zoom, int precision) {
+        List<List<String>> polylines = new ArrayList<>();
+        StringBuilder json = new StringBuilder("{\"type\":\"Feature\",\"geometry\":{\"type\":\"MultiPolygon\",\"coordinates\":[");
+        for (int p = 0; p < geometry.getNumGeometries(); p++) {
+            if (!(geometry.getGeometryN(p) instanceof Polygon polygon) || polygon.isEmpty()) {
+                continue;
+            }
+            List<String> rings = new ArrayList<>();
+            json.append(polylines.isEmpty() ? "[" : ",[");
+            for (int r = 0; r <= polygon.getNumInteriorRing(); r++) {
+                LineString ring = r == 0 ? polygon.getExteriorRing() : polygon.getInteriorRingN(r - 1);
+                appendRing(json.append(r == 0 ? "" : ","), ring.getCoordinates(), precision);
+                rings.add(encodePolyline(ring.getCoordinates(), precision));
+            }
+            json.append(']');
+            polylines.add(rings);
+        }
+        json.append("]},\"properties\":{\"zoom\":").append(zoom).append(",\"precision\":").append(precision).append("}}");
+        return new Rendition(zoom, precision, json.toString(), polylines);
+    }
+
+    private static void appendRing(StringBuilder json, Coordinate[] coordinates, int precision) {
+        json.append('[');
+        for (int i = 0; i < coordinates.length; i++) {
+            json.append(i == 0 ? "[" : ",[")
+                    .append(quantize(coordinates[i].getX(), precision)).append(',')
+                    .append(quantize(coordinates[i].getY(), precision)).append(']');
+        }
+        json.append(']');
+    }
+
+    // Rounded and without trailing zeros, so 38.740000 is written as 38.74.
+    private static String quantize(double value, int precision) {
+        return BigDecimal.valueOf(value).setScale(precision, RoundingMode.HALF_UP).stripTrailingZeros().toPlainString();
+    }
+
+    // Google encoded polyline: zig-zag encoded deltas of lat/lon scaled by 10^precision, in 5-bit chunks.
+    static String encodePolyline(Coordinate[] coordinates, int precision) {
+        double scale = Math.pow(10, precision);
+        StringBuilder encoded = new StringBuilder();
+        long previousLat = 0;
+        long previousLon = 0;
+        for (Coordinate coordinate : coordinates) {
+            long lat = Math.round(coordinate.getY() * scale);
+            long lon = Math.round(coordinate.getX() * scale);
+            encodeValue(encoded, lat - previousLat);
+            encodeValue(encoded, lon - previousLon);
+            previousLat = lat;
+            previousLon = lon;
+        }
+        return encoded.toString();
+    }
+
+    private static void encodeValue(StringBuilder encoded, long delta) {
+        long value = delta < 0 ? ~(delta << 1) : delta << 1;
+        while (value >= 0x20) {
+            encoded.append((char) ((0x20 | (value & 0x1f)) + 63));
+            value >>= 5;
+        }
+        encoded.append((char) (value + 63));
+    }
+}
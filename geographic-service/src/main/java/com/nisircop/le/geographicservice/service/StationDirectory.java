@@ -0,0 +1,50 @@
+package com.nisircop.le.geographicservice.service;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.util.List;
+
+/**
+ * Asks user-service which officers belong to a station, so a station can only edit its own officers' boundaries.
+ * Not cached: it is only consulted when a boundary is changed.
+ */
+@Component
+public class StationDirectory {
+
+    private static final String USER_SERVICE = "user-service";
+
+    private final DiscoveryClient discoveryClient;
+    private final RestClient restClient;
+
+    public StationDirectory(DiscoveryClient discoveryClient) {
+        this.discoveryClient = discoveryClient;
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(2000);
+        requestFactory.setReadTimeout(2000);
+        this.restClient = RestClient.builder().requestFactory(requestFactory).build();
+    }
+
+    /**
+     * @throws IllegalStateException when no user-service instance could answer
+     */
+    public boolean isOfficerOf(Long stationId, Long officerId) {
+        for (ServiceInstance instance : discoveryClient.getInstances(USER_SERVICE)) {
+            try {
+                List<Long> officers = restClient.get()
+                        .uri(instance.getUri() + "/users/station/{stationId}/officers", stationId)
+                        .retrieve()
+                        .body(new ParameterizedTypeReference<List<Long>>() {});
+                return officers != null && officers.contains(officerId);
+            } catch (RestClientException e) {
+                // try the next instance
+            }
+        }
+        throw new IllegalStateException("user-service is unavailable");
+    }
+}
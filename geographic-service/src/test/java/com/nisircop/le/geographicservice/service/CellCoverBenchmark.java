@@ -0,0 +1,93 @@
+package com.nisircop.le.geographicservice.service;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point tests against one boundary: prepared geometry alone versus the cell cover in front of it, plus the
+ * cost of building the cover, which is what a boundary index reload pays per changed boundary.
+ *
+ * <p>Not run by {@code mvn test}. After {@code mvn test-compile}, run
+ * {@code java -cp target/test-classes:target/classes:<dependencies> org.openjdk.jmh.Main CellCoverBenchmark}, with
+ * the dependencies from {@code mvn dependency:build-classpath -Dmdep.includeScope=test}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CellCoverBenchmark {
+
+    private static final int POINTS = 16_384;
+
+    @Param({"64", "1024", "16384"})
+    int vertices;
+
+    @Param({"8"})
+    int depth;
+
+    private Geometry boundary;
+    private PreparedGeometry prepared;
+    private IndexedBoundary indexed;
+    private Point[] points;
+
+    @Setup
+    public void setUp() {
+        boundary = CellCoverTest.wobbly(38.74, 9.03, 0.05, vertices);
+        prepared = PreparedGeometryFactory.prepare(boundary);
+        indexed = IndexedBoundary.of(boundary, depth);
+        // Uniform over a box a little larger than the boundary, as incident locations near a station would be.
+        GeometryFactory factory = new GeometryFactory();
+        Random random = new Random(1);
+        points = new Point[POINTS];
+        for (int i = 0; i < POINTS; i++) {
+            points[i] = factory.createPoint(new Coordinate(
+                    38.74 + (random.nextDouble() - 0.5) * 0.14, 9.03 + (random.nextDouble() - 0.5) * 0.14));
+        }
+    }
+
+    /** Average time per point. */
+    @Benchmark
+    @OperationsPerInvocation(POINTS)
+    public void preparedContains(Blackhole blackhole) {
+        for (Point point : points) {
+            blackhole.consume(prepared.contains(point));
+        }
+    }
+
+    /** Average time per point. */
+    @Benchmark
+    @OperationsPerInvocation(POINTS)
+    public void cellCoverContains(Blackhole blackhole) {
+        for (Point point : points) {
+            blackhole.consume(indexed.contains(point));
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public IndexedBoundary build() {
+        return IndexedBoundary.of(boundary, depth);
+    }
+}
@@ -0,0 +1,120 @@
+package com.nisircop.le.geographicservice.service;
+
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKTReader;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The cell cover is only a shortcut: for every point, {@link IndexedBoundary#contains} must give the answer
+ * {@link PreparedGeometry#contains} gives, including points on vertices, edges and cell lines.
+ */
+class CellCoverTest {
+
+    private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory();
+    private static final int[] DEPTHS = {1, 4, 8, 12};
+
+    @Test
+    void wobblyPolygonMatchesPreparedContains() {
+        assertEquivalent(wobbly(38.74, 9.03, 0.05, 2048));
+    }
+
+    @Test
+    void polygonWithHoleMatchesPreparedContains() throws ParseException {
+        assertEquivalent(wkt("POLYGON((38.70 9.00, 38.80 9.00, 38.80 9.10, 38.70 9.10, 38.70 9.00), "
+                + "(38.73 9.03, 38.77 9.03, 38.77 9.07, 38.73 9.07, 38.73 9.03))"));
+    }
+
+    @Test
+    void multiPolygonMatchesPreparedContains() throws ParseException {
+        assertEquivalent(wkt("MULTIPOLYGON(((38.70 9.00, 38.74 9.00, 38.74 9.04, 38.70 9.04, 38.70 9.00)), "
+                + "((38.74 9.04, 38.78 9.04, 38.78 9.08, 38.74 9.08, 38.74 9.04)))"));
+    }
+
+    @Test
+    void gridAlignedSquareMatchesPreparedContains() throws ParseException {
+        // Edges exactly on power-of-two cell lines, where rounding in the cell lookup would show first.
+        assertEquivalent(wkt("POLYGON((0 0, 22.5 0, 22.5 11.25, 0 11.25, 0 0))"));
+    }
+
+    @Test
+    void tinyPolygonMatchesPreparedContains() {
+        assertEquivalent(wobbly(-73.9857, 40.7484, 0.0002, 64));
+    }
+
+    @Test
+    void coverResolvesMostPointsWithoutAnExactTest() {
+        Geometry boundary = wobbly(38.74, 9.03, 0.05, 2048);
+        CellCover cover = CellCover.build(PreparedGeometryFactory.prepare(boundary), 8);
+        int edge = 0;
+        List<Coordinate> points = randomPoints(boundary, 10_000, new Random(7));
+        for (Coordinate point : points) {
+            if (cover.classify(point.x, point.y) == CellCover.EDGE) {
+                edge++;
+            }
+        }
+        assertTrue(edge < points.size() / 10, edge + " of " + points.size() + " points needed an exact test");
+    }
+
+    private static void assertEquivalent(Geometry boundary) {
+        PreparedGeometry prepared = PreparedGeometryFactory.prepare(boundary);
+        List<Coordinate> points = randomPoints(boundary, 20_000, new Random(42));
+        for (Coordinate vertex : boundary.getCoordinates()) {
+            points.add(vertex);
+        }
+        Coordinate[] vertices = boundary.getCoordinates();
+        for (int i = 1; i < vertices.length; i++) {
+            points.add(new Coordinate((vertices[i - 1].x + vertices[i].x) / 2, (vertices[i - 1].y + vertices[i].y) / 2));
+        }
+        for (int depth : DEPTHS) {
+            IndexedBoundary indexed = IndexedBoundary.of(boundary, depth);
+            for (Coordinate coordinate : points) {
+                Point point = GEOMETRY_FACTORY.createPoint(coordinate);
+                assertEquals(prepared.contains(point), indexed.contains(point),
+                        () -> "depth " + depth + " disagrees at " + coordinate);
+            }
+        }
+    }
+
+    // Uniform over the envelope grown by a quarter on each side, so points fall inside, outside and near edges.
+    private static List<Coordinate> randomPoints(Geometry boundary, int count, Random random) {
+        var envelope = boundary.getEnvelopeInternal();
+        double marginX = envelope.getWidth() / 4;
+        double marginY = envelope.getHeight() / 4;
+        List<Coordinate> points = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            points.add(new Coordinate(
+                    envelope.getMinX() - marginX + random.nextDouble() * (envelope.getWidth() + 2 * marginX),
+                    envelope.getMinY() - marginY + random.nextDouble() * (envelope.getHeight() + 2 * marginY)));
+        }
+        return points;
+    }
+
+    // A circle whose radius wobbles 15% around the mean: many vertices and a long, irregular edge.
+    static Geometry wobbly(double lon, double lat, double radius, int vertices) {
+        Coordinate[] ring = new Coordinate[vertices + 1];
+        for (int i = 0; i < vertices; i++) {
+            double angle = 2 * Math.PI * i / vertices;
+            double r = radius * (1 + 0.15 * Math.sin(23 * angle));
+            ring[i] = new Coordinate(lon + r * Math.cos(angle), lat + r * Math.sin(angle));
+        }
+        ring[vertices] = ring[0];
+        return GEOMETRY_FACTORY.createPolygon(ring);
+    }
+
+    private static Geometry wkt(String text) throws ParseException {
+        return new WKTReader(GEOMETRY_FACTORY).read(text);
+    }
+}
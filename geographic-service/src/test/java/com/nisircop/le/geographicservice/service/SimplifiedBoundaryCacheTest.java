@@ -0,0 +1,104 @@
+package com.nisircop.le.geographicservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.io.WKTReader;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Every rendition must be a valid multipolygon once quantized, with closed rings and no repeated vertices,
+ * and must get smaller as the zoom goes down; polylines must match Google's reference encoding.
+ */
+class SimplifiedBoundaryCacheTest {
+
+    private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory();
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    @Test
+    void encodesGooglesPolylineExample() {
+        // https://developers.google.com/maps/documentation/utilities/polylinealgorithm
+        Coordinate[] points = {
+                new Coordinate(-120.2, 38.5), new Coordinate(-120.95, 40.7), new Coordinate(-126.453, 43.252)};
+        assertEquals("_p~iF~ps|U_ulLnnqC_mqNvxq`@", SimplifiedBoundaryCache.encodePolyline(points, 5));
+    }
+
+    @Test
+    void renditionsAreValidAndShrinkWithZoom() throws Exception {
+        SimplifiedBoundaryCache.Rendition[] renditions =
+                SimplifiedBoundaryCache.build(CellCoverTest.wobbly(38.74, 9.03, 0.05, 2048));
+        for (int i = 0; i < renditions.length; i++) {
+            assertValid(renditions[i]);
+            if (i > 0) {
+                assertTrue(renditions[i - 1].geoJson().length() <= renditions[i].geoJson().length(),
+                        "zoom " + renditions[i - 1].zoom() + " is larger than zoom " + renditions[i].zoom());
+            }
+        }
+        int full = renditions[renditions.length - 1].geoJson().length();
+        assertTrue(renditions[0].geoJson().length() * 10 < full,
+                "zoom " + renditions[0].zoom() + " is " + renditions[0].geoJson().length() + " of " + full + " chars");
+    }
+
+    @Test
+    void quantizingDropsMergedVerticesAndPinchedParts() throws Exception {
+        // A slot narrower than the last kept decimal, and a vertex next to another: both collapse when rounded.
+        Geometry source = new WKTReader(GEOMETRY_FACTORY).read("POLYGON((38.7 9.0, 38.8 9.0, 38.80000001 9.0, "
+                + "38.8 9.1, 38.75000004 9.1, 38.75000004 9.05, 38.75000001 9.05, 38.75000001 9.1, 38.7 9.1, 38.7 9.0))");
+        assertTrue(source.isValid());
+        for (SimplifiedBoundaryCache.Rendition rendition : SimplifiedBoundaryCache.build(source)) {
+            assertValid(rendition);
+        }
+    }
+
+    @Test
+    void polygonWithHoleKeepsItsHole() throws Exception {
+        Geometry source = new WKTReader(GEOMETRY_FACTORY).read(
+                "POLYGON((38.70 9.00, 38.80 9.00, 38.80 9.10, 38.70 9.10, 38.70 9.00), "
+                        + "(38.73 9.03, 38.77 9.03, 38.77 9.07, 38.73 9.07, 38.73 9.03))");
+        for (SimplifiedBoundaryCache.Rendition rendition : SimplifiedBoundaryCache.build(source)) {
+            Geometry parsed = assertValid(rendition);
+            assertEquals(1, ((Polygon) parsed.getGeometryN(0)).getNumInteriorRing(), "zoom " + rendition.zoom());
+            assertEquals(2, rendition.polylines().get(0).size(), "zoom " + rendition.zoom());
+        }
+    }
+
+    // Parses the GeoJSON back into JTS and checks each ring before validating the whole geometry.
+    private static Geometry assertValid(SimplifiedBoundaryCache.Rendition rendition) throws Exception {
+        JsonNode polygons = JSON.readTree(rendition.geoJson()).path("geometry").path("coordinates");
+        assertFalse(polygons.isEmpty(), "zoom " + rendition.zoom() + " has no polygons");
+        assertEquals(polygons.size(), rendition.polylines().size());
+        List<Polygon> parsed = new ArrayList<>();
+        for (JsonNode polygon : polygons) {
+            LinearRing[] rings = new LinearRing[polygon.size()];
+            for (int r = 0; r < rings.length; r++) {
+                JsonNode ring = polygon.get(r);
+                Coordinate[] coordinates = new Coordinate[ring.size()];
+                for (int i = 0; i < coordinates.length; i++) {
+                    coordinates[i] = new Coordinate(ring.get(i).get(0).asDouble(), ring.get(i).get(1).asDouble());
+                    assertTrue(i == 0 || !coordinates[i].equals2D(coordinates[i - 1]),
+                            "zoom " + rendition.zoom() + " repeats " + coordinates[i]);
+                }
+                assertTrue(coordinates.length >= 4, "zoom " + rendition.zoom() + " has a degenerate ring");
+                assertTrue(coordinates[0].equals2D(coordinates[coordinates.length - 1]),
+                        "zoom " + rendition.zoom() + " has an open ring");
+                rings[r] = GEOMETRY_FACTORY.createLinearRing(coordinates);
+            }
+            parsed.add(GEOMETRY_FACTORY.createPolygon(rings[0], Arrays.copyOfRange(rings, 1, rings.length)));
+        }
+        Geometry geometry = GEOMETRY_FACTORY.createMultiPolygon(parsed.toArray(new Polygon[0]));
+        assertTrue(geometry.isValid(), "zoom " + rendition.zoom() + " is not valid");
+        return geometry;
+    }
+}
@@ -0,0 +1,40 @@
+package com.nisircop.le.incidentservice.client;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking view of {@link GeoServiceClient}: each call runs in the geographic-service bulkhead with a
+ * deadline. The validate endpoints are POSTs but have no side effects, so they may be hedged like the reads.
+ */
+@Component
+public class AsyncGeoServiceClient {
+
+    private final GeoServiceClient geoServiceClient;
+    private final DependencyBulkhead bulkhead;
+
+    public AsyncGeoServiceClient(GeoServiceClient geoServiceClient,
+                                 @Qualifier("geoServiceBulkhead") DependencyBulkhead bulkhead) {
+        this.geoServiceClient = geoServiceClient;
+        this.bulkhead = bulkhead;
+    }
+
+    public CompletableFuture<Boolean> validatePointInBoundary(PointValidationRequest request) {
+        return bulkhead.callHedged(() -> {
+            ResponseEntity<Boolean> response = geoServiceClient.validatePointInBoundary(request);
+            return response.getBody() != null && response.getBody();
+        });
+    }
+
+    public CompletableFuture<List<Boolean>> validatePointsInBoundaries(List<PointValidationRequest> requests) {
+        return bulkhead.callHedged(() -> geoServiceClient.validatePointsInBoundaries(requests));
+    }
+
+    public CompletableFuture<BoundaryGeometry> getBoundaryGeometry(Long userId) {
+        return bulkhead.callHedged(() -> geoServiceClient.getBoundaryGeometry(userId));
+    }
+}
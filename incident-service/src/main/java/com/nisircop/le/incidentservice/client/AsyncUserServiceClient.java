@@ -0,0 +1,32 @@
+package com.nisircop.le.incidentservice.client;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking view of {@link UserServiceClient}: each call runs in the user-service bulkhead with a
+ * deadline. Both lookups are reads, so they may be hedged.
+ */
+@Component
+public class AsyncUserServiceClient {
+
+    private final UserServiceClient userServiceClient;
+    private final DependencyBulkhead bulkhead;
+
+    public AsyncUserServiceClient(UserServiceClient userServiceClient,
+                                  @Qualifier("userServiceBulkhead") DependencyBulkhead bulkhead) {
+        this.userServiceClient = userServiceClient;
+        this.bulkhead = bulkhead;
+    }
+
+    public CompletableFuture<UserServiceClient.UserDTO> getUserById(Long id) {
+        return bulkhead.callHedged(() -> userServiceClient.getUserById(id));
+    }
+
+    public CompletableFuture<List<Long>> getOfficerIdsByStation(Long stationId) {
+        return bulkhead.callHedged(() -> userServiceClient.getOfficerIdsByStation(stationId));
+    }
+}
@@ -0,0 +1,14 @@
+package com.nisircop.le.incidentservice.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// This DTO must match the one in the Geographic Service
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BoundaryGeometry {
+    private Long userId;
+    private String wkb; // hex-encoded WKB polygon
+}
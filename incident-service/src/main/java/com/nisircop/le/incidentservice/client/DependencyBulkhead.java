@@ -0,0 +1,134 @@
+package com.nisircop.le.incidentservice.client;
+
+import com.nisircop.le.incidentservice.exception.IncidentServiceException;
+import com.nisircop.le.incidentservice.util.Futures;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs blocking calls to one downstream service on its own bounded pool. At most {@code maxConcurrent}
+ * calls are in flight; further calls fail fast instead of queueing, so a slow dependency ties up its own
+ * threads and not the callers'. Every call gets a deadline, and idempotent reads can be hedged: if the
+ * first attempt has not answered after {@code hedgeDelay}, a second one is sent (the load balancer
+ * normally routes it to another replica) and whichever answers first wins.
+ */
+public class DependencyBulkhead implements DisposableBean {
+
+    private final String dependency;
+    private final Semaphore permits;
+    private final ExecutorService executor;
+    private final Duration timeout;
+    private final Duration hedgeDelay;
+    private final Counter rejected;
+    private final Counter timedOut;
+    private final Counter hedged;
+
+    public DependencyBulkhead(String dependency, int maxConcurrent, Duration timeout, Duration hedgeDelay,
+                              MeterRegistry meterRegistry) {
+        this.dependency = dependency;
+        this.permits = new Semaphore(maxConcurrent);
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(maxConcurrent, runnable -> {
+            Thread thread = new Thread(runnable, dependency + "-call-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.timeout = timeout;
+        this.hedgeDelay = hedgeDelay;
+        Gauge.builder("incident.client.in-flight", permits, p -> maxConcurrent - p.availablePermits())
+                .tag("dependency", dependency)
+                .register(meterRegistry);
+        this.rejected = meterRegistry.counter("incident.client.rejected", "dependency", dependency);
+        this.timedOut = meterRegistry.counter("incident.client.timeouts", "dependency", dependency);
+        this.hedged = meterRegistry.counter("incident.client.hedges", "dependency", dependency);
+    }
+
+    /** Single attempt, bounded by the deadline. */
+    public <T> CompletableFuture<T> call(Supplier<T> call) {
+        return withDeadline(attempt(call));
+    }
+
+    /** Like {@link #call} but may send a second attempt; only for calls that are safe to repeat. */
+    public <T> CompletableFuture<T> callHedged(Supplier<T> call) {
+        CompletableFuture<T> first = attempt(call);
+        if (hedgeDelay.isZero() || hedgeDelay.isNegative()) {
+            return withDeadline(first);
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(1);
+        race(first, result, pending);
+        CompletableFuture.delayedExecutor(hedgeDelay.toMillis(), TimeUnit.MILLISECONDS).execute(() -> {
+            // No permit left means the dependency is already saturated; a hedge would only add load.
+            if (result.isDone() || !permits.tryAcquire()) {
+                return;
+            }
+            pending.incrementAndGet();
+            hedged.increment();
+            race(submit(call), result, pending);
+        });
+        return withDeadline(result);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    // First success completes the result; it fails only once every attempt has failed.
+    private <T> void race(CompletableFuture<T> attempt, CompletableFuture<T> result, AtomicInteger pending) {
+        attempt.whenComplete((value, failure) -> {
+            if (failure == null) {
+                result.complete(value);
+            } else if (pending.decrementAndGet() == 0) {
+                result.completeExceptionally(Futures.unwrap(failure));
+            }
+        });
+    }
+
+    private <T> CompletableFuture<T> attempt(Supplier<T> call) {
+        if (!permits.tryAcquire()) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(new IncidentServiceException(
+                    dependency + " has too many calls in flight.", "DEPENDENCY_UNAVAILABLE"));
+        }
+        return submit(call);
+    }
+
+    // Caller must already hold a permit; it is released when the attempt finishes.
+    private <T> CompletableFuture<T> submit(Supplier<T> call) {
+        try {
+            return CompletableFuture.supplyAsync(call, executor).whenComplete((value, failure) -> permits.release());
+        } catch (RuntimeException e) {
+            permits.release();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private <T> CompletableFuture<T> withDeadline(CompletableFuture<T> future) {
+        return future.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS).exceptionallyCompose(failure -> {
+            Throwable cause = failure;
+            while (cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof TimeoutException) {
+                timedOut.increment();
+                return CompletableFuture.failedFuture(new IncidentServiceException(
+                        dependency + " did not answer within " + timeout.toMillis() + " ms.", "DEPENDENCY_TIMEOUT"));
+            }
+            return CompletableFuture.failedFuture(cause);
+        });
+    }
+}
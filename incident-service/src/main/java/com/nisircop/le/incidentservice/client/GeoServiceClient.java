@@ -2,12 +2,22 @@ package com.nisircop.le.incidentservice.client;
 
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 
+import java.util.List;
+
 @FeignClient(name = "geographic-service", path = "/geo")
 public interface GeoServiceClient {
 
     @PostMapping("/validate-point")
     ResponseEntity<Boolean> validatePointInBoundary(@RequestBody PointValidationRequest request);
-}
\ No newline at end of file
+
+    @PostMapping("/validate-points")
+    List<Boolean> validatePointsInBoundaries(@RequestBody List<PointValidationRequest> requests);
+
+    @GetMapping("/boundary/{userId}/geometry")
+    BoundaryGeometry getBoundaryGeometry(@PathVariable("userId") Long userId);
+}
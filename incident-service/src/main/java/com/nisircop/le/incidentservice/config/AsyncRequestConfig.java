@@ -0,0 +1,28 @@
+package com.nisircop.le.incidentservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Deadline for async requests without one of their own, i.e. the NDJSON stream and the export. Both are
+ * written from a {@code StreamingResponseBody}, which otherwise gets the container default of 30 seconds and
+ * is cut off mid-body on large windows. The SSE stream sets its own timeout.
+ */
+@Configuration
+public class AsyncRequestConfig implements WebMvcConfigurer {
+
+    private final Duration timeout;
+
+    public AsyncRequestConfig(@Value("${incident.export.timeout:30m}") Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(timeout.toMillis());
+    }
+}
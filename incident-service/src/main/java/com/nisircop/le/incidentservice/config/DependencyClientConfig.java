@@ -0,0 +1,33 @@
+package com.nisircop.le.incidentservice.config;
+
+import com.nisircop.le.incidentservice.client.DependencyBulkhead;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * One bulkhead per downstream service, so user-service and geographic-service slowdowns are isolated
+ * from each other and from request threads.
+ */
+@Configuration
+public class DependencyClientConfig {
+
+    @Bean
+    public DependencyBulkhead userServiceBulkhead(MeterRegistry meterRegistry,
+                                                  @Value("${incident.clients.user-service.max-concurrent:32}") int maxConcurrent,
+                                                  @Value("${incident.clients.user-service.timeout:2s}") Duration timeout,
+                                                  @Value("${incident.clients.user-service.hedge-delay:0ms}") Duration hedgeDelay) {
+        return new DependencyBulkhead("user-service", maxConcurrent, timeout, hedgeDelay, meterRegistry);
+    }
+
+    @Bean
+    public DependencyBulkhead geoServiceBulkhead(MeterRegistry meterRegistry,
+                                                 @Value("${incident.clients.geographic-service.max-concurrent:32}") int maxConcurrent,
+                                                 @Value("${incident.clients.geographic-service.timeout:2s}") Duration timeout,
+                                                 @Value("${incident.clients.geographic-service.hedge-delay:0ms}") Duration hedgeDelay) {
+        return new DependencyBulkhead("geographic-service", maxConcurrent, timeout, hedgeDelay, meterRegistry);
+    }
+}
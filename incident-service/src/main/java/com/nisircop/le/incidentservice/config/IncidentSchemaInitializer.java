@@ -0,0 +1,152 @@
+package com.nisircop.le.incidentservice.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Applies the PostgreSQL/PostGIS objects that Hibernate's ddl-auto cannot express,
+ * then checks that they exist. Every statement is idempotent so it is safe on each startup.
+ */
+@Component
+public class IncidentSchemaInitializer implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(IncidentSchemaInitializer.class);
+
+    // location is geometry(Point,4326); the geography expression index serves metre-based ST_DWithin.
+    private static final List<String> SPATIAL_INDEXES = List.of(
+            "CREATE INDEX IF NOT EXISTS idx_incidents_location ON incidents USING GIST (location)",
+            "CREATE INDEX IF NOT EXISTS idx_incidents_location_geog ON incidents USING GIST ((location::geography))"
+    );
+
+    // Existing rows may predate the pooled sequence (they came from the old IDENTITY column), so move the
+    // sequence past them. GREATEST keeps this a no-op once the sequence is already ahead.
+    private static final String ALIGN_ID_SEQUENCE =
+            "SELECT setval('incident_id_seq', GREATEST((SELECT last_value FROM incident_id_seq), " +
+            "(SELECT COALESCE(MAX(id), 0) FROM incidents) + 50))";
+
+    // The relay only ever scans unpublished rows; keep that scan independent of the published history.
+    private static final String OUTBOX_PENDING_INDEX =
+            "CREATE INDEX IF NOT EXISTS idx_incident_outbox_pending ON incident_outbox (id) WHERE published_at IS NULL";
+
+    // Older schemas mapped description as @Lob, which PostgreSQL stores as an oid into pg_largeobject.
+    // Inline the text once and release the large objects; skipped when the column is already text.
+    private static final String DESCRIPTION_TO_TEXT =
+            "DO $$ BEGIN " +
+            "IF (SELECT data_type FROM information_schema.columns " +
+            "WHERE table_name = 'incidents' AND column_name = 'description') = 'oid' THEN " +
+            "ALTER TABLE incidents ADD COLUMN description_text text; " +
+            "UPDATE incidents SET description_text = convert_from(lo_get(description), 'UTF8') WHERE description IS NOT NULL; " +
+            "PERFORM lo_unlink(description) FROM incidents WHERE description IS NOT NULL; " +
+            "ALTER TABLE incidents DROP COLUMN description; " +
+            "ALTER TABLE incidents RENAME COLUMN description_text TO description; " +
+            "END IF; END $$";
+
+    // Generated, so every insert and update keeps it current without a second statement. Titles weigh more
+    // than descriptions in ts_rank.
+    private static final String SEARCH_VECTOR =
+            "ALTER TABLE incidents ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (" +
+            "setweight(to_tsvector('english', coalesce(title, '')), 'A') || " +
+            "setweight(to_tsvector('english', coalesce(description, '')), 'B')) STORED";
+
+    // version and updated_at arrive as nullable columns from ddl-auto. Existing rows get version 0 and their
+    // creation time, then the columns are locked down; skipped once they are NOT NULL.
+    private static final String BACKFILL_VERSIONS =
+            "DO $$ BEGIN " +
+            "IF EXISTS (SELECT 1 FROM information_schema.columns WHERE table_name = 'incidents' " +
+            "AND column_name = 'version' AND is_nullable = 'YES') THEN " +
+            "UPDATE incidents SET version = COALESCE(version, 0), updated_at = COALESCE(updated_at, occurred_at) " +
+            "WHERE version IS NULL OR updated_at IS NULL; " +
+            "ALTER TABLE incidents ALTER COLUMN version SET NOT NULL, ALTER COLUMN updated_at SET NOT NULL; " +
+            "END IF; END $$";
+
+    private static final String SEARCH_INDEX =
+            "CREATE INDEX IF NOT EXISTS idx_incidents_search_vector ON incidents USING GIN (search_vector)";
+
+    // One-time conversion of a plain incidents table into one range-partitioned by month on occurred_at.
+    // The existing table is attached unchanged as a single partition covering everything up to the end of
+    // its newest month, so no rows are copied; IncidentPartitionManager adds monthly partitions after it.
+    // Its indexes are renamed so the partitioned indexes created below adopt them instead of rebuilding.
+    // The primary key has to include the partition key. Tables from the old IDENTITY mapping keep an identity
+    // column, which LIKE does not copy and PostgreSQL 17+ refuses to attach; ids come from incident_id_seq now.
+    // Runs as one statement, so a failure leaves the plain table untouched.
+    private static final String PARTITION_INCIDENTS =
+            "DO $$ DECLARE upper_bound timestamp; idx record; BEGIN " +
+            "IF (SELECT relkind FROM pg_class WHERE oid = to_regclass('incidents')) IS DISTINCT FROM 'r' THEN RETURN; END IF; " +
+            "ALTER TABLE incidents RENAME TO incidents_legacy; " +
+            "FOR idx IN SELECT indexname FROM pg_indexes WHERE tablename = 'incidents_legacy' LOOP " +
+            "EXECUTE format('ALTER INDEX %I RENAME TO %I', idx.indexname, idx.indexname || '_legacy'); " +
+            "END LOOP; " +
+            "CREATE TABLE incidents (LIKE incidents_legacy INCLUDING DEFAULTS INCLUDING GENERATED) " +
+            "PARTITION BY RANGE (occurred_at); " +
+            "ALTER TABLE incidents ADD PRIMARY KEY (id, occurred_at); " +
+            "SELECT date_trunc('month', COALESCE(MAX(occurred_at), now())) + interval '1 month' INTO upper_bound " +
+            "FROM incidents_legacy; " +
+            "ALTER TABLE incidents_legacy ALTER COLUMN id DROP IDENTITY IF EXISTS; " +
+            "EXECUTE format('ALTER TABLE incidents ATTACH PARTITION incidents_legacy FOR VALUES FROM (MINVALUE) TO (%L)', upper_bound); " +
+            "CREATE TABLE incidents_default PARTITION OF incidents DEFAULT; " +
+            "END $$";
+
+    // Declared on the entity too, but ddl-auto does not reliably create indexes on a partitioned table.
+    private static final List<String> TIME_INDEXES = List.of(
+            "CREATE INDEX IF NOT EXISTS idx_incidents_occurred_at_id ON incidents (occurred_at, id)",
+            "CREATE INDEX IF NOT EXISTS idx_incidents_reported_by_occurred_at ON incidents (reported_by, occurred_at, id)"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IncidentSchemaInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        execute(ALIGN_ID_SEQUENCE);
+        execute(DESCRIPTION_TO_TEXT);
+        execute(SEARCH_VECTOR);
+        execute(BACKFILL_VERSIONS);
+        // Not through execute(): IncidentPartitionManager and the time-window pruning depend on it, so a failed
+        // conversion stops startup instead of leaving a plain table behind a warning.
+        jdbcTemplate.execute(PARTITION_INCIDENTS);
+        requirePartitioned("incidents");
+        TIME_INDEXES.forEach(this::execute);
+        SPATIAL_INDEXES.forEach(this::execute);
+        execute(SEARCH_INDEX);
+        execute(OUTBOX_PENDING_INDEX);
+        requireIndexes("incidents", "idx_incidents_occurred_at_id", "idx_incidents_reported_by_occurred_at",
+                "idx_incidents_location", "idx_incidents_location_geog", "idx_incidents_search_vector");
+        requireIndexes("incident_outbox", "idx_incident_outbox_pending");
+    }
+
+    private void execute(String sql) {
+        try {
+            jdbcTemplate.execute(sql);
+        } catch (DataAccessException e) {
+            logger.error("Schema statement failed: {} - {}", sql, e.getMessage());
+        }
+    }
+
+    private void requirePartitioned(String table) {
+        Boolean partitioned = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_class WHERE oid = to_regclass(?) AND relkind = 'p')", Boolean.class, table);
+        if (!Boolean.TRUE.equals(partitioned)) {
+            throw new IllegalStateException(table + " is not partitioned; monthly partitions and pruning would not apply");
+        }
+    }
+
+    private void requireIndexes(String table, String... indexNames) {
+        List<String> present = jdbcTemplate.queryForList(
+                "SELECT indexname FROM pg_indexes WHERE tablename = ?", String.class, table);
+        for (String indexName : indexNames) {
+            if (!present.contains(indexName)) {
+                logger.warn("Index {} on {} is missing; queries that rely on it will fall back to sequential scans", indexName, table);
+            }
+        }
+    }
+}
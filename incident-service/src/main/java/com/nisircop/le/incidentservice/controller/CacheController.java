@@ -0,0 +1,97 @@
+package com.nisircop.le.incidentservice.controller;
+
+import com.nisircop.le.incidentservice.service.BoundaryCache;
+import com.nisircop.le.incidentservice.service.StationMembershipCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+// Invalidation hooks called by the services that own the cached data. Callers must send the shared internal
+// token; with no token configured every call is refused.
+@RestController
+@RequestMapping("/api/v1/incidents/cache")
+public class CacheController {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheController.class);
+
+    static final String INTERNAL_TOKEN_HEADER = "X-Internal-Token";
+
+    @Autowired
+    private BoundaryCache boundaryCache;
+
+    @Autowired
+    private StationMembershipCache membershipCache;
+
+    @Value("${incident.internal-token:}")
+    private String internalToken;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warnIfUnprotected() {
+        if (internalToken.isBlank()) {
+            logger.warn("incident.internal-token (INTERNAL_API_TOKEN) is not set; every cache invalidation call will be "
+                    + "refused and boundaries and station memberships stay cached until they expire");
+        }
+    }
+
+    @DeleteMapping("/boundaries/{userId}")
+    public ResponseEntity<Void> invalidateBoundary(@PathVariable Long userId,
+                                                   @RequestHeader(value = INTERNAL_TOKEN_HEADER, required = false) String token) {
+        if (!isInternal(token)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        boundaryCache.invalidate(userId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/boundaries")
+    public ResponseEntity<Void> invalidateAllBoundaries(@RequestHeader(value = INTERNAL_TOKEN_HEADER, required = false) String token) {
+        if (!isInternal(token)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        boundaryCache.invalidateAll();
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/stations/{stationId}")
+    public ResponseEntity<Void> invalidateStation(@PathVariable Long stationId,
+                                                  @RequestHeader(value = INTERNAL_TOKEN_HEADER, required = false) String token) {
+        if (!isInternal(token)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        membershipCache.invalidateStation(stationId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/users/{userId}")
+    public ResponseEntity<Void> invalidateUser(@PathVariable Long userId,
+                                               @RequestHeader(value = INTERNAL_TOKEN_HEADER, required = false) String token) {
+        if (!isInternal(token)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        membershipCache.invalidateUser(userId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/users")
+    public ResponseEntity<Void> invalidateAllMemberships(@RequestHeader(value = INTERNAL_TOKEN_HEADER, required = false) String token) {
+        if (!isInternal(token)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        membershipCache.invalidateAll();
+        return ResponseEntity.noContent().build();
+    }
+
+    private boolean isInternal(String token) {
+        return token != null && !internalToken.isEmpty()
+                && MessageDigest.isEqual(token.getBytes(StandardCharsets.UTF_8), internalToken.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,31 +1,325 @@
 package com.nisircop.le.incidentservice.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nisircop.le.incidentservice.dto.AsyncIncidentStatus;
+import com.nisircop.le.incidentservice.dto.BoundingBox;
+import com.nisircop.le.incidentservice.dto.IncidentBatchResult;
+import com.nisircop.le.incidentservice.dto.IncidentCluster;
+import com.nisircop.le.incidentservice.dto.IncidentCount;
 import com.nisircop.le.incidentservice.dto.IncidentCreateRequest;
+import com.nisircop.le.incidentservice.dto.IncidentFields;
+import com.nisircop.le.incidentservice.dto.IncidentPage;
+import com.nisircop.le.incidentservice.dto.IncidentSearchResult;
+import com.nisircop.le.incidentservice.dto.IncidentSummary;
+import com.nisircop.le.incidentservice.dto.IncidentVersion;
+import com.nisircop.le.incidentservice.dto.TimeWindow;
+import com.nisircop.le.incidentservice.event.IncidentStreamBroker;
+import com.nisircop.le.incidentservice.exception.IncidentServiceException;
 import com.nisircop.le.incidentservice.model.Incident;
+import com.nisircop.le.incidentservice.service.AsyncIncidentWriter;
+import com.nisircop.le.incidentservice.service.IncidentExporter;
+import com.nisircop.le.incidentservice.service.IncidentRollups;
 import com.nisircop.le.incidentservice.service.IncidentService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.ZoneId;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/v1/incidents")
 public class IncidentController {
 
+    private static final String NDJSON = "application/x-ndjson";
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    private static final int MAX_SPATIAL_RESULTS = 5000;
+    private static final int MAX_BATCH_SIZE = 5000;
+    private static final double MAX_RADIUS_METERS = 100_000;
+    private static final int MAX_ZOOM = 22;
+
     @Autowired
     private IncidentService incidentService;
 
+    @Autowired
+    private IncidentStreamBroker streamBroker;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AsyncIncidentWriter asyncWriter;
+
+    @Autowired
+    private IncidentRollups rollups;
+
+    @Autowired
+    private IncidentExporter exporter;
+
     @GetMapping
-    public List<Incident> getAllIncidents(@RequestHeader("X-User-Id") Long userId, @RequestHeader("X-User-Role") String userRole) {
-        return incidentService.getAllIncidents(userId, userRole);
+    public ResponseEntity<List<?>> getAllIncidents(@RequestHeader("X-User-Id") Long userId,
+                                                   @RequestHeader("X-User-Role") String userRole,
+                                                   @RequestParam(required = false) String fields,
+                                                   @RequestParam(required = false) String from,
+                                                   @RequestParam(required = false) String to,
+                                                   WebRequest request) {
+        try {
+            Set<String> selected = IncidentFields.parse(fields);
+            TimeWindow window = TimeWindow.parse(from, to);
+            String etag = listETag(userId, userRole, from, to, request);
+            if (etag != null && request.checkNotModified(etag)) {
+                return null;
+            }
+            return listResponse(etag).body(IncidentFields.select(incidentService.getAllIncidents(userId, userRole, window), selected));
+        } catch (IncidentServiceException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping(produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamAllIncidents(@RequestHeader("X-User-Id") Long userId,
+                                                                    @RequestHeader("X-User-Role") String userRole,
+                                                                    @RequestParam(required = false) String fields,
+                                                                    @RequestParam(required = false) String from,
+                                                                    @RequestParam(required = false) String to) {
+        Set<String> selected;
+        TimeWindow window;
+        try {
+            selected = IncidentFields.parse(fields);
+            window = TimeWindow.parse(from, to);
+        } catch (IncidentServiceException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody body = out -> incidentService.streamIncidents(userId, userRole, window, incident -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(IncidentFields.select(incident, selected)));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportIncidents(@RequestHeader("X-User-Id") Long userId,
+                                                                 @RequestHeader("X-User-Role") String userRole,
+                                                                 @RequestParam(defaultValue = "csv") String format,
+                                                                 @RequestParam(required = false) String from,
+                                                                 @RequestParam(required = false) String to,
+                                                                 @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        IncidentExporter.Format exportFormat;
+        TimeWindow window;
+        try {
+            exportFormat = IncidentExporter.Format.parse(format);
+            window = TimeWindow.parse(from, to);
+        } catch (IncidentServiceException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        boolean gzip = acceptsGzip(acceptEncoding);
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                // Closing ends the deflater's native memory even when the export fails or the client goes away;
+                // the response stream itself stays open for the container to complete.
+                try (GZIPOutputStream compressed = new GZIPOutputStream(new FilterOutputStream(out) {
+                    @Override
+                    public void write(byte[] bytes, int offset, int length) throws IOException {
+                        out.write(bytes, offset, length);
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        out.flush();
+                    }
+                }, 64 * 1024)) {
+                    exporter.export(userId, userRole, window, exportFormat, compressed);
+                }
+            } else {
+                exporter.export(userId, userRole, window, exportFormat, out);
+            }
+        };
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.mediaType))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"incidents." + exportFormat.extension + "\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamIncidentChanges(@RequestHeader("X-User-Id") Long userId,
+                                                            @RequestHeader("X-User-Role") String userRole) {
+        try {
+            return ResponseEntity.ok(streamBroker.subscribe(userId, userRole));
+        } catch (IncidentServiceException e) {
+            // A station's officers are looked up when it subscribes, so user-service being down is a 503 too.
+            HttpStatus status = "STREAM_CAPACITY_EXCEEDED".equals(e.getErrorCode()) || e.getErrorCode().startsWith("DEPENDENCY_")
+                    ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.FORBIDDEN;
+            return ResponseEntity.status(status).build();
+        }
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<IncidentPage<?>> getIncidentPage(@RequestHeader("X-User-Id") Long userId,
+                                                           @RequestHeader("X-User-Role") String userRole,
+                                                           @RequestParam(required = false) String cursor,
+                                                           @RequestParam(defaultValue = "50") int size,
+                                                           @RequestParam(required = false) String fields,
+                                                           @RequestParam(required = false) String from,
+                                                           @RequestParam(required = false) String to,
+                                                           WebRequest request) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            Set<String> selected = IncidentFields.parse(fields);
+            TimeWindow window = TimeWindow.parse(from, to);
+            String etag = listETag(userId, userRole, from, to, request);
+            if (etag != null && request.checkNotModified(etag)) {
+                return null;
+            }
+            IncidentPage<IncidentSummary> page = incidentService.getIncidentPage(userId, userRole, window, cursor, size);
+            return listResponse(etag).body(new IncidentPage<>(IncidentFields.select(page.items(), selected), page.nextCursor()));
+        } catch (IncidentServiceException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<IncidentPage<IncidentSearchResult>> searchIncidents(@RequestHeader("X-User-Id") Long userId,
+                                                                              @RequestHeader("X-User-Role") String userRole,
+                                                                              @RequestParam String q,
+                                                                              @RequestParam(required = false) String cursor,
+                                                                              @RequestParam(defaultValue = "20") int size) {
+        if (size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(incidentService.searchIncidents(userId, userRole, q, cursor, size));
+        } catch (IncidentServiceException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/within")
+    public ResponseEntity<List<?>> getIncidentsWithin(@RequestHeader("X-User-Id") Long userId,
+                                                      @RequestHeader("X-User-Role") String userRole,
+                                                      @RequestParam String bbox,
+                                                      @RequestParam(defaultValue = "1000") int limit,
+                                                      @RequestParam(required = false) String fields) {
+        if (limit < 1 || limit > MAX_SPATIAL_RESULTS) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            Set<String> selected = IncidentFields.parse(fields);
+            List<IncidentSummary> incidents = incidentService.findIncidentsWithin(userId, userRole, BoundingBox.parse(bbox), limit);
+            return ResponseEntity.ok(IncidentFields.select(incidents, selected));
+        } catch (IncidentServiceException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
+    /**
+     * Incident counts grouped by type, priority, reporter or hour, served from the rollup counters.
+     */
+    @GetMapping("/counts")
+    public ResponseEntity<List<IncidentCount>> countIncidents(@RequestHeader("X-User-Id") Long userId,
+                                                              @RequestHeader("X-User-Role") String userRole,
+                                                              @RequestParam(defaultValue = "type") String groupBy,
+                                                              @RequestParam(required = false) String from,
+                                                              @RequestParam(required = false) String to) {
+        try {
+            return ResponseEntity.ok(incidentService.countIncidents(userId, userRole,
+                    IncidentRollups.Dimension.parse(groupBy), TimeWindow.parse(from, to)));
+        } catch (IncidentServiceException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping("/counts/rebuild")
+    public ResponseEntity<Void> rebuildCounts(@RequestHeader("X-User-Role") String userRole) {
+        if (!"SUPER_USER".equals(userRole)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        rollups.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/clusters")
+    public ResponseEntity<List<IncidentCluster>> getIncidentClusters(@RequestHeader("X-User-Id") Long userId,
+                                                                     @RequestHeader("X-User-Role") String userRole,
+                                                                     @RequestParam String bbox,
+                                                                     @RequestParam int zoom) {
+        if (zoom < 0 || zoom > MAX_ZOOM) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(incidentService.clusterIncidents(userId, userRole, BoundingBox.parse(bbox), zoom));
+        } catch (IncidentServiceException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/near")
+    public ResponseEntity<List<?>> getIncidentsNear(@RequestHeader("X-User-Id") Long userId,
+                                                    @RequestHeader("X-User-Role") String userRole,
+                                                    @RequestParam double lat,
+                                                    @RequestParam double lon,
+                                                    @RequestParam double radius,
+                                                    @RequestParam(defaultValue = "1000") int limit,
+                                                    @RequestParam(required = false) String fields) {
+        if (lat < -90 || lat > 90 || lon < -180 || lon > 180
+                || radius <= 0 || radius > MAX_RADIUS_METERS
+                || limit < 1 || limit > MAX_SPATIAL_RESULTS) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            Set<String> selected = IncidentFields.parse(fields);
+            List<IncidentSummary> incidents = incidentService.findIncidentsNear(userId, userRole, lat, lon, radius, limit);
+            return ResponseEntity.ok(IncidentFields.select(incidents, selected));
+        } catch (IncidentServiceException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Conditional on the incident's version: a matching If-None-Match (or an If-Modified-Since no older than
+     * updatedAt) is answered 304 from the version columns alone, without loading or serializing the incident.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<Incident> getIncidentById(@PathVariable Long id) {
+    public ResponseEntity<Incident> getIncidentById(@PathVariable Long id, WebRequest request) {
+        Optional<IncidentVersion> version = incidentService.getIncidentVersion(id);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = "\"" + id + "-" + version.get().getVersion() + "\"";
+        long lastModified = version.get().getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        if (request.checkNotModified(etag, lastModified)) {
+            return null;
+        }
         return incidentService.getIncidentById(id)
-                .map(ResponseEntity::ok)
+                .map(incident -> ResponseEntity.ok()
+                        .cacheControl(CacheControl.noCache())
+                        .eTag("\"" + id + "-" + incident.getVersion() + "\"")
+                        .lastModified(incident.getUpdatedAt().atZone(ZoneId.systemDefault()))
+                        .body(incident))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -41,6 +335,44 @@ public class IncidentController {
         }
     }
 
+    /**
+     * Write-behind create: answers 202 once the request is queued. Poll the Location for the outcome.
+     */
+    @PostMapping(headers = "Prefer=respond-async")
+    public ResponseEntity<AsyncIncidentStatus> createIncidentAsync(@RequestBody IncidentCreateRequest request,
+                                                                   @RequestHeader("X-User-Id") Long reporterId,
+                                                                   @RequestHeader("X-User-Role") String reporterRole) {
+        String error = incidentService.describeInvalid(request);
+        if (error != null) {
+            return ResponseEntity.badRequest().body(new AsyncIncidentStatus(null, AsyncIncidentStatus.REJECTED, null, error));
+        }
+        Optional<AsyncIncidentStatus> accepted = asyncWriter.submit(request, reporterId, reporterRole);
+        if (accepted.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1").build();
+        }
+        return ResponseEntity.accepted()
+                .header(HttpHeaders.LOCATION, "/api/v1/incidents/async/" + accepted.get().trackingId())
+                .header("Preference-Applied", "respond-async")
+                .body(accepted.get());
+    }
+
+    @GetMapping("/async/{trackingId}")
+    public ResponseEntity<AsyncIncidentStatus> getAsyncStatus(@PathVariable String trackingId) {
+        return asyncWriter.status(trackingId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<List<IncidentBatchResult>> createIncidents(@RequestBody List<IncidentCreateRequest> requests,
+                                                                     @RequestHeader("X-User-Id") Long reporterId,
+                                                                     @RequestHeader("X-User-Role") String reporterRole) {
+        if (requests.isEmpty() || requests.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(incidentService.createIncidents(requests, reporterId, reporterRole));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Incident> updateIncident(@PathVariable Long id,
                                                    @RequestBody IncidentCreateRequest request,
@@ -59,4 +391,52 @@ public class IncidentController {
             return ResponseEntity.notFound().build();
         }
     }
-}
\ No newline at end of file
+
+    // RFC 9110 Accept-Encoding: gzip (or x-gzip, or *) with a q-value above zero; "gzip;q=0" refuses it.
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double any = null;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim().toLowerCase();
+            double q = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        q = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = gzip == null ? q : Math.max(gzip, q);
+            } else if (coding.equals("*")) {
+                any = q;
+            }
+        }
+        double accepted = gzip != null ? gzip : any != null ? any : 0;
+        return accepted > 0;
+    }
+
+    private static ResponseEntity.BodyBuilder listResponse(String etag) {
+        return etag == null ? ResponseEntity.ok() : ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag);
+    }
+
+    // Strong list ETag: the caller's scope version plus the query, since fields, cursor and window all change
+    // the body. Relative windows (from=PT24H) move with the clock, so they get no ETag.
+    private String listETag(Long userId, String userRole, String from, String to, WebRequest request) {
+        if (TimeWindow.isRelative(from) || TimeWindow.isRelative(to)) {
+            return null;
+        }
+        String query = Objects.toString(request.getParameterMap().entrySet().stream()
+                .map(entry -> entry.getKey() + "=" + String.join(",", entry.getValue()))
+                .sorted()
+                .toList());
+        return "\"" + incidentService.getListVersion(userId, userRole) + "-" + Integer.toHexString(query.hashCode()) + "\"";
+    }
+}
@@ -0,0 +1,16 @@
+package com.nisircop.le.incidentservice.dto;
+
+/**
+ * Progress of an incident accepted in asynchronous mode.
+ */
+public record AsyncIncidentStatus(String trackingId, String state, Long incidentId, String error) {
+
+    public static final String PENDING = "PENDING";
+    public static final String CREATED = "CREATED";
+    public static final String REJECTED = "REJECTED";
+    public static final String FAILED = "FAILED";
+
+    public static AsyncIncidentStatus pending(String trackingId) {
+        return new AsyncIncidentStatus(trackingId, PENDING, null, null);
+    }
+}
@@ -0,0 +1,27 @@
+package com.nisircop.le.incidentservice.dto;
+
+import com.nisircop.le.incidentservice.exception.IncidentServiceException;
+
+/**
+ * WGS84 viewport given as {@code minLon,minLat,maxLon,maxLat}.
+ */
+public record BoundingBox(double minLon, double minLat, double maxLon, double maxLat) {
+
+    public static BoundingBox parse(String bbox) {
+        String[] parts = bbox == null ? new String[0] : bbox.split(",");
+        if (parts.length != 4) {
+            throw new IncidentServiceException("bbox must be minLon,minLat,maxLon,maxLat", "INVALID_BBOX");
+        }
+        try {
+            BoundingBox box = new BoundingBox(Double.parseDouble(parts[0].trim()), Double.parseDouble(parts[1].trim()),
+                    Double.parseDouble(parts[2].trim()), Double.parseDouble(parts[3].trim()));
+            if (box.minLon < -180 || box.maxLon > 180 || box.minLat < -90 || box.maxLat > 90
+                    || box.minLon > box.maxLon || box.minLat > box.maxLat) {
+                throw new IncidentServiceException("bbox is outside WGS84 bounds or inverted", "INVALID_BBOX");
+            }
+            return box;
+        } catch (NumberFormatException e) {
+            throw new IncidentServiceException("bbox must contain four numbers", "INVALID_BBOX", e);
+        }
+    }
+}
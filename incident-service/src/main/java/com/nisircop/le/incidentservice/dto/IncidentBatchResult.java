@@ -0,0 +1,15 @@
+package com.nisircop.le.incidentservice.dto;
+
+/**
+ * Outcome of one item in a batch create, keyed by its position in the request.
+ */
+public record IncidentBatchResult(int index, String status, Long incidentId, String error) {
+
+    public static IncidentBatchResult created(int index, Long incidentId) {
+        return new IncidentBatchResult(index, "CREATED", incidentId, null);
+    }
+
+    public static IncidentBatchResult rejected(int index, String error) {
+        return new IncidentBatchResult(index, "REJECTED", null, error);
+    }
+}
@@ -0,0 +1,12 @@
+package com.nisircop.le.incidentservice.dto;
+
+/**
+ * Aggregated incidents in one grid cell of a viewport; latitude/longitude are the centroid of the members.
+ */
+public interface IncidentCluster {
+    long getCellX();
+    long getCellY();
+    long getCount();
+    double getLatitude();
+    double getLongitude();
+}
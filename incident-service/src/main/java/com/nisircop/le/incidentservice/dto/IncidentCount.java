@@ -0,0 +1,7 @@
+package com.nisircop.le.incidentservice.dto;
+
+/**
+ * One group of a rollup read, e.g. an incident type and how many incidents have it.
+ */
+public record IncidentCount(String name, long count) {
+}
@@ -0,0 +1,40 @@
+package com.nisircop.le.incidentservice.dto;
+
+import com.nisircop.le.incidentservice.exception.IncidentServiceException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position over (occurredAt, id), ordered newest first.
+ */
+public record IncidentCursor(LocalDateTime occurredAt, Long id) {
+
+    /** Position before every stored incident, used for the first page. */
+    public static final IncidentCursor FIRST = new IncidentCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    public static IncidentCursor after(IncidentSummary incident) {
+        return new IncidentCursor(incident.getOccurredAt(), incident.getId());
+    }
+
+    public static IncidentCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new IncidentCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IncidentServiceException("Invalid cursor: " + token, "INVALID_CURSOR", e);
+        }
+    }
+
+    public String encode() {
+        String raw = occurredAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
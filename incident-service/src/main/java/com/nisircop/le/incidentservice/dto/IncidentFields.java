@@ -0,0 +1,68 @@
+package com.nisircop.le.incidentservice.dto;
+
+import com.nisircop.le.incidentservice.exception.IncidentServiceException;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Parses a {@code fields=} selector and trims {@link IncidentSummary} rows down to the requested properties.
+ */
+public final class IncidentFields {
+
+    private static final Map<String, Function<IncidentSummary, Object>> ACCESSORS = new LinkedHashMap<>();
+
+    static {
+        ACCESSORS.put("id", IncidentSummary::getId);
+        ACCESSORS.put("title", IncidentSummary::getTitle);
+        ACCESSORS.put("incidentType", IncidentSummary::getIncidentType);
+        ACCESSORS.put("priority", IncidentSummary::getPriority);
+        ACCESSORS.put("latitude", IncidentSummary::getLatitude);
+        ACCESSORS.put("longitude", IncidentSummary::getLongitude);
+        ACCESSORS.put("reportedBy", IncidentSummary::getReportedBy);
+        ACCESSORS.put("occurredAt", IncidentSummary::getOccurredAt);
+    }
+
+    private IncidentFields() {
+    }
+
+    /**
+     * Returns the requested field names in request order, or {@code null} when no selector was given.
+     */
+    public static Set<String> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (!ACCESSORS.containsKey(name)) {
+                throw new IncidentServiceException("Unknown field '" + name + "'; expected any of " + ACCESSORS.keySet(), "INVALID_FIELDS");
+            }
+            selected.add(name);
+        }
+        return selected;
+    }
+
+    public static List<?> select(List<IncidentSummary> rows, Set<String> fields) {
+        if (fields == null) {
+            return rows;
+        }
+        return rows.stream().map(row -> select(row, fields)).toList();
+    }
+
+    public static Object select(IncidentSummary row, Set<String> fields) {
+        if (fields == null) {
+            return row;
+        }
+        Map<String, Object> selected = new LinkedHashMap<>();
+        for (String field : fields) {
+            selected.put(field, ACCESSORS.get(field).apply(row));
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,9 @@
+package com.nisircop.le.incidentservice.dto;
+
+import java.util.List;
+
+/**
+ * One keyset page of incidents. {@code nextCursor} is null on the last page.
+ */
+public record IncidentPage<T>(List<T> items, String nextCursor) {
+}
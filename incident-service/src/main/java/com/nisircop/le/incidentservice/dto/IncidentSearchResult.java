@@ -0,0 +1,8 @@
+package com.nisircop.le.incidentservice.dto;
+
+/**
+ * Search hit: the list view plus its full-text relevance. Higher ranks first.
+ */
+public interface IncidentSearchResult extends IncidentSummary {
+    Float getRank();
+}
@@ -0,0 +1,18 @@
+package com.nisircop.le.incidentservice.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * List view of an incident. Leaves out the description so list queries never read the description text;
+ * the full entity is only loaded by id.
+ */
+public interface IncidentSummary {
+    Long getId();
+    String getTitle();
+    String getIncidentType();
+    String getPriority();
+    Double getLatitude();
+    Double getLongitude();
+    Long getReportedBy();
+    LocalDateTime getOccurredAt();
+}
@@ -0,0 +1,11 @@
+package com.nisircop.le.incidentservice.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Just enough of an incident to answer a conditional GET without loading the row.
+ */
+public interface IncidentVersion {
+    Long getVersion();
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,51 @@
+package com.nisircop.le.incidentservice.dto;
+
+import com.nisircop.le.incidentservice.exception.IncidentServiceException;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Half-open range {@code [from, to)} on occurredAt. Always bound into queries so PostgreSQL can prune
+ * monthly partitions; an open end is replaced by a sentinel that lies outside any stored timestamp.
+ */
+public record TimeWindow(LocalDateTime from, LocalDateTime to) {
+
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    public static final TimeWindow ALL = new TimeWindow(EARLIEST, LATEST);
+
+    /**
+     * Each bound is an ISO date ({@code 2024-05-01}), date-time ({@code 2024-05-01T08:00}) or, for
+     * relative windows such as "last 24h", a duration back from now ({@code PT24H}, {@code P7D}).
+     */
+    public static TimeWindow parse(String from, String to) {
+        LocalDateTime now = LocalDateTime.now();
+        TimeWindow window = new TimeWindow(
+                from == null || from.isBlank() ? EARLIEST : parseBound(from.trim(), now),
+                to == null || to.isBlank() ? LATEST : parseBound(to.trim(), now));
+        if (!window.from.isBefore(window.to)) {
+            throw new IncidentServiceException("from must be before to", "INVALID_TIME_WINDOW");
+        }
+        return window;
+    }
+
+    /** True for a bound given as a duration back from now, whose window moves with the clock. */
+    public static boolean isRelative(String bound) {
+        return bound != null && bound.trim().startsWith("P");
+    }
+
+    private static LocalDateTime parseBound(String value, LocalDateTime now) {
+        try {
+            if (value.startsWith("P")) {
+                return now.minus(Duration.parse(value));
+            }
+            return value.contains("T") ? LocalDateTime.parse(value) : LocalDate.parse(value).atStartOfDay();
+        } catch (DateTimeParseException e) {
+            throw new IncidentServiceException("Invalid time bound: " + value, "INVALID_TIME_WINDOW", e);
+        }
+    }
+}
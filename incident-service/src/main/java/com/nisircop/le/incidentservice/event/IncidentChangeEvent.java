@@ -0,0 +1,37 @@
+package com.nisircop.le.incidentservice.event;
+
+import com.nisircop.le.incidentservice.model.Incident;
+
+import java.time.LocalDateTime;
+
+/**
+ * State of an incident after a change (or just before deletion), as delivered to event sinks.
+ * {@code eventId} is the outbox row id; it is unique per event and lets consumers discard redeliveries.
+ */
+public record IncidentChangeEvent(Long eventId,
+                                  String type,
+                                  Long incidentId,
+                                  String title,
+                                  String incidentType,
+                                  String priority,
+                                  Double latitude,
+                                  Double longitude,
+                                  Long reportedBy,
+                                  LocalDateTime occurredAt,
+                                  LocalDateTime emittedAt) {
+
+    public static final String CREATED = "CREATED";
+    public static final String UPDATED = "UPDATED";
+    public static final String DELETED = "DELETED";
+
+    public static IncidentChangeEvent of(String type, Incident incident) {
+        return new IncidentChangeEvent(null, type, incident.getId(), incident.getTitle(), incident.getIncidentType(),
+                incident.getPriority(), incident.getLocation().getY(), incident.getLocation().getX(),
+                incident.getReportedBy(), incident.getOccurredAt(), LocalDateTime.now());
+    }
+
+    public IncidentChangeEvent withEventId(Long id) {
+        return new IncidentChangeEvent(id, type, incidentId, title, incidentType, priority, latitude, longitude,
+                reportedBy, occurredAt, emittedAt);
+    }
+}
@@ -0,0 +1,131 @@
+package com.nisircop.le.incidentservice.event;
+
+import com.nisircop.le.incidentservice.model.IncidentOutboxEvent;
+import com.nisircop.le.incidentservice.repository.IncidentOutboxRepository;
+import com.nisircop.le.incidentservice.service.IncidentOutbox;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Feeds this instance's {@link IncidentStreamBroker} from the {@value IncidentOutbox#CHANNEL} NOTIFY channel.
+ * PostgreSQL delivers every committed notification to every listening connection, in commit order, so each
+ * instance sees every change no matter which instance wrote it or relays its outbox row.
+ *
+ * <p>Holds one pooled connection for as long as it runs. Changes committed while that connection is down
+ * are not replayed; the stream is a live view and clients re-sync through the list API.
+ */
+@Component
+public class IncidentChangeFeed implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(IncidentChangeFeed.class);
+    private static final int POLL_MILLIS = 1000;
+    private static final long RECONNECT_DELAY_MILLIS = 5000;
+    private static final int LOOKUP_CHUNK = 1000;
+
+    private final DataSource dataSource;
+    private final IncidentOutboxRepository outboxRepository;
+    private final IncidentOutbox outbox;
+    private final IncidentStreamBroker broker;
+    private volatile boolean running;
+    private Thread listener;
+
+    public IncidentChangeFeed(DataSource dataSource,
+                              IncidentOutboxRepository outboxRepository,
+                              IncidentOutbox outbox,
+                              IncidentStreamBroker broker) {
+        this.dataSource = dataSource;
+        this.outboxRepository = outboxRepository;
+        this.outbox = outbox;
+        this.broker = broker;
+    }
+
+    @Override
+    public synchronized void start() {
+        running = true;
+        listener = new Thread(this::listen, "incident-change-feed");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+            listener = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                PGConnection notifications = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + IncidentOutbox.CHANNEL);
+                }
+                logger.info("Listening for incident changes on {}", IncidentOutbox.CHANNEL);
+                while (running) {
+                    deliver(notifications.getNotifications(POLL_MILLIS));
+                }
+            } catch (SQLException | DataAccessException e) {
+                if (!running) {
+                    return;
+                }
+                logger.warn("Incident change feed interrupted, reconnecting: {}", e.getMessage());
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void deliver(PGNotification[] notifications) {
+        if (notifications == null || notifications.length == 0) {
+            return;
+        }
+        // Notifications arrive in commit order; the rows are put back in that order after the lookup.
+        Map<Long, Integer> order = new HashMap<>();
+        for (PGNotification notification : notifications) {
+            order.putIfAbsent(Long.valueOf(notification.getParameter()), order.size());
+        }
+        // Looked up in chunks to stay under the bind-parameter limit after a bulk ingest; rows purged in the
+        // meantime are simply skipped.
+        List<Long> ids = new ArrayList<>(order.keySet());
+        List<IncidentOutboxEvent> rows = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += LOOKUP_CHUNK) {
+            rows.addAll(outboxRepository.findAllById(ids.subList(from, Math.min(from + LOOKUP_CHUNK, ids.size()))));
+        }
+        rows.sort(Comparator.comparing(row -> order.get(row.getId())));
+        List<IncidentChangeEvent> events = new ArrayList<>(rows.size());
+        for (IncidentOutboxEvent row : rows) {
+            try {
+                events.add(outbox.decode(row));
+            } catch (IllegalStateException e) {
+                logger.warn(e.getMessage());
+            }
+        }
+        broker.publish(events);
+    }
+}
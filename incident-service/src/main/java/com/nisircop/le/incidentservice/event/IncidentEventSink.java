@@ -0,0 +1,12 @@
+package com.nisircop.le.incidentservice.event;
+
+import java.util.List;
+
+/**
+ * Destination for committed incident change events. Delivery is at-least-once: a batch is retried
+ * until every sink accepts it, so implementations should tolerate duplicates (compare {@code eventId}).
+ */
+public interface IncidentEventSink {
+
+    void publish(List<IncidentChangeEvent> events) throws Exception;
+}
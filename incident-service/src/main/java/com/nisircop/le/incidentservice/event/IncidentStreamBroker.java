@@ -0,0 +1,192 @@
+package com.nisircop.le.incidentservice.event;
+
+import com.nisircop.le.incidentservice.exception.IncidentServiceException;
+import com.nisircop.le.incidentservice.service.StationMembershipCache;
+import com.nisircop.le.incidentservice.util.LongSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+/**
+ * Fans committed incident changes out to this instance's Server-Sent Event subscribers; every instance
+ * receives every change through {@link IncidentChangeFeed}. Publishing only offers events into each
+ * subscriber's bounded buffer and never blocks the feed; a small shared pool drains the buffers, and sends
+ * the heartbeats, to the connections. A subscriber that falls behind loses its oldest buffered events and
+ * is told how many it missed so it can re-sync through the list API.
+ */
+@Component
+public class IncidentStreamBroker implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(IncidentStreamBroker.class);
+
+    private final StationMembershipCache membershipCache;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ExecutorService senders;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long timeoutMillis;
+
+    public IncidentStreamBroker(StationMembershipCache membershipCache,
+                                @Value("${incident.stream.buffer-size:256}") int bufferSize,
+                                @Value("${incident.stream.max-subscribers:1000}") int maxSubscribers,
+                                @Value("${incident.stream.sender-threads:4}") int senderThreads,
+                                @Value("${incident.stream.timeout:30m}") Duration timeout) {
+        this.membershipCache = membershipCache;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = timeout.toMillis();
+        this.senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "incident-stream-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Opens a stream of the changes visible to the caller, scoped the same way as the incident list.
+     */
+    public SseEmitter subscribe(Long userId, String userRole) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new IncidentServiceException("Too many live incident subscribers.", "STREAM_CAPACITY_EXCEEDED");
+        }
+        Subscriber subscriber = new Subscriber(new SseEmitter(timeoutMillis), visibleTo(userId, userRole));
+        subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onTimeout(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return subscriber.emitter;
+    }
+
+    /** Called only from the feed thread. */
+    public void publish(List<IncidentChangeEvent> events) {
+        for (Subscriber subscriber : subscribers) {
+            boolean offered = false;
+            for (IncidentChangeEvent event : events) {
+                if (subscriber.visible.test(event)) {
+                    subscriber.offer(event);
+                    offered = true;
+                }
+            }
+            if (offered) {
+                schedule(subscriber);
+            }
+        }
+    }
+
+    // Comments keep idle connections open through proxies and surface dead ones. Only flags the subscribers:
+    // the send happens on the sender pool, so a slow client never holds up the shared scheduler thread.
+    @Scheduled(fixedDelayString = "${incident.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeatDue.set(true);
+            schedule(subscriber);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    private Predicate<IncidentChangeEvent> visibleTo(Long userId, String userRole) {
+        return switch (userRole) {
+            case "SUPER_USER" -> event -> true;
+            case "POLICE_STATION" -> {
+                // Loaded here, on the subscribing request thread. The feed thread never waits on user-service: it
+                // only swaps in a refreshed set once the cache already holds one.
+                AtomicReference<LongSet> officers = new AtomicReference<>(membershipCache.officersOf(userId));
+                yield event -> {
+                    LongSet latest = membershipCache.officersOfAsync(userId).getNow(null);
+                    if (latest != null) {
+                        officers.set(latest);
+                    }
+                    return userId.equals(event.reportedBy()) || officers.get().contains(event.reportedBy());
+                };
+            }
+            case "OFFICER" -> event -> userId.equals(event.reportedBy());
+            default -> throw new IncidentServiceException("Unknown role: " + userRole, "INSUFFICIENT_PERMISSIONS");
+        };
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            if (subscriber.heartbeatDue.getAndSet(false)) {
+                subscriber.emitter.send(SseEmitter.event().comment("keep-alive"));
+            }
+            long missed = subscriber.missed.getAndSet(0);
+            if (missed > 0) {
+                subscriber.emitter.send(SseEmitter.event().name("LAGGED").data(missed));
+            }
+            IncidentChangeEvent event;
+            while ((event = subscriber.buffer.poll()) != null) {
+                subscriber.emitter.send(SseEmitter.event()
+                        .id(String.valueOf(event.eventId()))
+                        .name(event.type())
+                        .data(event));
+            }
+        } catch (IOException | IllegalStateException e) {
+            drop(subscriber);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // An event or heartbeat may have arrived between the last poll and releasing the flag.
+        if (!subscriber.buffer.isEmpty() || subscriber.heartbeatDue.get()) {
+            schedule(subscriber);
+        }
+    }
+
+    private void drop(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            logger.debug("Dropping incident stream subscriber after send failure");
+            subscriber.emitter.complete();
+        }
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Predicate<IncidentChangeEvent> visible;
+        private final Queue<IncidentChangeEvent> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean heartbeatDue = new AtomicBoolean();
+        private final AtomicLong missed = new AtomicLong();
+
+        private Subscriber(SseEmitter emitter, Predicate<IncidentChangeEvent> visible) {
+            this.emitter = emitter;
+            this.visible = visible;
+        }
+
+        // Only the feed thread offers, so evicting the head to make room cannot race another producer.
+        private void offer(IncidentChangeEvent event) {
+            while (!buffer.offer(event)) {
+                if (buffer.poll() != null) {
+                    missed.incrementAndGet();
+                }
+            }
+        }
+    }
+}
@@ -5,25 +5,35 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 import org.locationtech.jts.geom.Point;
 
 import java.time.LocalDateTime;
 
+// Range-partitioned by month on occurred_at (see IncidentSchemaInitializer), so the physical primary key is
+// (id, occurred_at); ids stay unique because they all come from incident_id_seq.
 @Entity
-@Table(name = "incidents")
+@Table(name = "incidents", indexes = {
+        @Index(name = "idx_incidents_occurred_at_id", columnList = "occurredAt, id"),
+        @Index(name = "idx_incidents_reported_by_occurred_at", columnList = "reportedBy, occurredAt, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Incident {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence ids let Hibernate batch inserts; IDENTITY would force one round-trip per row.
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "incident_seq")
+    @SequenceGenerator(name = "incident_seq", sequenceName = "incident_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
     private String title;
 
-    @Lob
+    // Plain text rather than @Lob: on PostgreSQL a LOB is an oid pointing into pg_largeobject,
+    // which full-text search cannot index.
+    @Column(columnDefinition = "text")
     private String description;
 
     private String incidentType;
@@ -40,4 +50,15 @@ public class Incident {
     @Column(nullable = false, updatable = false)
     @CreationTimestamp
     private LocalDateTime occurredAt;
+
+    // Earlier incident this one was reported as a likely duplicate of (same type, nearby, minutes apart).
+    private Long duplicateOf;
+
+    // Both back the ETag and Last-Modified of GET /{id}. Left nullable here so ddl-auto can add them to a
+    // populated table; IncidentSchemaInitializer backfills them and sets NOT NULL.
+    @Version
+    private Long version;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
 }
\ No newline at end of file
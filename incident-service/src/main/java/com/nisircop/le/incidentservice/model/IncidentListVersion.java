@@ -0,0 +1,24 @@
+package com.nisircop.le.incidentservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Change counter of one reporter's incidents, incremented by {@code IncidentListVersions} in the same
+ * transaction as every change; mapped here so ddl-auto owns the table.
+ */
+@Entity
+@Table(name = "incident_list_version")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IncidentListVersion {
+
+    @Id
+    private Long reportedBy;
+
+    @Column(nullable = false)
+    private Long version;
+}
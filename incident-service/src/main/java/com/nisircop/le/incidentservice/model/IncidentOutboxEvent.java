@@ -0,0 +1,44 @@
+package com.nisircop.le.incidentservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Change event written in the same transaction as the incident change it describes,
+ * and later handed to the event sinks by {@code OutboxRelay}.
+ */
+@Entity
+@Table(name = "incident_outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IncidentOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "incident_outbox_seq")
+    @SequenceGenerator(name = "incident_outbox_seq", sequenceName = "incident_outbox_id_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long incidentId;
+
+    @Column(nullable = false)
+    private Long reportedBy;
+
+    @Column(nullable = false, length = 16)
+    private String eventType; // CREATED, UPDATED, DELETED
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload; // IncidentChangeEvent as JSON
+
+    @Column(nullable = false, updatable = false)
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    private LocalDateTime publishedAt;
+}
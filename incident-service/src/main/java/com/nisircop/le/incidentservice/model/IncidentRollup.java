@@ -0,0 +1,48 @@
+package com.nisircop.le.incidentservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Incident count for one hour bucket and one (type, priority, reporter) combination. Maintained with
+ * upserts by {@code IncidentRollups} in the same transaction as the incident change; mapped here so
+ * ddl-auto owns the table.
+ */
+@Entity
+@Table(name = "incident_rollup")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IncidentRollup {
+
+    @EmbeddedId
+    private Key key;
+
+    @Column(nullable = false)
+    private Long incidentCount;
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        @Column(nullable = false)
+        private LocalDateTime bucket;
+
+        // Part of the primary key, so a missing type is stored as '' rather than NULL.
+        @Column(nullable = false)
+        private String incidentType;
+
+        @Column(nullable = false)
+        private String priority;
+
+        @Column(nullable = false)
+        private Long reportedBy;
+    }
+}
@@ -1,13 +1,159 @@
 package com.nisircop.le.incidentservice.repository;
 
+import com.nisircop.le.incidentservice.dto.IncidentCluster;
+import com.nisircop.le.incidentservice.dto.IncidentSearchResult;
+import com.nisircop.le.incidentservice.dto.IncidentSummary;
+import com.nisircop.le.incidentservice.dto.IncidentVersion;
 import com.nisircop.le.incidentservice.model.Incident;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface IncidentRepository extends JpaRepository<Incident, Long> {
+
+    // Columns backing IncidentSummary. Aliases are quoted because PostgreSQL folds unquoted ones to lower case.
+    String SUMMARY_COLUMNS = "i.id AS \"id\", i.title AS \"title\", i.incident_type AS \"incidentType\", " +
+            "i.priority AS \"priority\", ST_Y(i.location) AS \"latitude\", ST_X(i.location) AS \"longitude\", " +
+            "i.reported_by AS \"reportedBy\", i.occurred_at AS \"occurredAt\"";
+
+    @Query("SELECT i.version AS version, i.updatedAt AS updatedAt FROM Incident i WHERE i.id = :id")
+    Optional<IncidentVersion> findVersionById(@Param("id") Long id);
+
     List<Incident> findByReportedBy(Long reportedBy);
+    List<Incident> findByOccurredAtGreaterThanEqual(LocalDateTime since);
     List<Incident> findByReportedByIn(List<Long> reportedBy);
-}
\ No newline at end of file
+
+    // Time bounds are always present (see TimeWindow) so the planner can prune monthly partitions.
+    String IN_WINDOW = "i.occurred_at >= :from AND i.occurred_at < :to";
+
+    @Query(value = "SELECT " + SUMMARY_COLUMNS + " FROM incidents i WHERE " + IN_WINDOW +
+            " ORDER BY i.occurred_at DESC, i.id DESC", nativeQuery = true)
+    List<IncidentSummary> findAllSummaries(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query(value = "SELECT " + SUMMARY_COLUMNS + " FROM incidents i WHERE i.reported_by IN (:reportedBy) AND " + IN_WINDOW +
+            " ORDER BY i.occurred_at DESC, i.id DESC", nativeQuery = true)
+    List<IncidentSummary> findSummariesByReportedByIn(@Param("reportedBy") List<Long> reportedBy,
+                                                      @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    // Keyset pages, newest first. The redundant "occurred_at <= :occurredAt" bounds the index range scan.
+    @Query(value = "SELECT " + SUMMARY_COLUMNS + " FROM incidents i WHERE i.occurred_at <= :occurredAt " +
+            "AND (i.occurred_at < :occurredAt OR i.id < :id) AND " + IN_WINDOW +
+            " ORDER BY i.occurred_at DESC, i.id DESC LIMIT :limit", nativeQuery = true)
+    List<IncidentSummary> findPageBefore(@Param("occurredAt") LocalDateTime occurredAt,
+                                         @Param("id") Long id,
+                                         @Param("from") LocalDateTime from,
+                                         @Param("to") LocalDateTime to,
+                                         @Param("limit") int limit);
+
+    @Query(value = "SELECT " + SUMMARY_COLUMNS + " FROM incidents i WHERE i.reported_by IN (:reportedBy) " +
+            "AND i.occurred_at <= :occurredAt AND (i.occurred_at < :occurredAt OR i.id < :id) AND " + IN_WINDOW +
+            " ORDER BY i.occurred_at DESC, i.id DESC LIMIT :limit", nativeQuery = true)
+    List<IncidentSummary> findPageByReportedByInBefore(@Param("reportedBy") List<Long> reportedBy,
+                                                       @Param("occurredAt") LocalDateTime occurredAt,
+                                                       @Param("id") Long id,
+                                                       @Param("from") LocalDateTime from,
+                                                       @Param("to") LocalDateTime to,
+                                                       @Param("limit") int limit);
+
+    // websearch_to_tsquery accepts free user input ("quoted phrases", or, -exclusions) and never raises a
+    // syntax error. Ties on rank fall back to newest id so pages are stable.
+    @Query(value = "SELECT " + SUMMARY_COLUMNS + ", ts_rank(i.search_vector, q) AS \"rank\" " +
+            "FROM incidents i, websearch_to_tsquery('english', :query) q WHERE i.search_vector @@ q " +
+            "ORDER BY \"rank\" DESC, i.id DESC LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<IncidentSearchResult> search(@Param("query") String query,
+                                      @Param("offset") int offset,
+                                      @Param("limit") int limit);
+
+    @Query(value = "SELECT " + SUMMARY_COLUMNS + ", ts_rank(i.search_vector, q) AS \"rank\" " +
+            "FROM incidents i, websearch_to_tsquery('english', :query) q WHERE i.search_vector @@ q " +
+            "AND i.reported_by IN (:reportedBy) " +
+            "ORDER BY \"rank\" DESC, i.id DESC LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<IncidentSearchResult> searchByReportedByIn(@Param("query") String query,
+                                                    @Param("reportedBy") List<Long> reportedBy,
+                                                    @Param("offset") int offset,
+                                                    @Param("limit") int limit);
+
+    // Forward-only cursors; callers must consume them inside a read-only transaction.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(value = "SELECT " + SUMMARY_COLUMNS + " FROM incidents i WHERE " + IN_WINDOW +
+            " ORDER BY i.occurred_at DESC, i.id DESC", nativeQuery = true)
+    Stream<IncidentSummary> streamAllSummaries(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(value = "SELECT " + SUMMARY_COLUMNS + " FROM incidents i WHERE i.reported_by IN (:reportedBy) AND " + IN_WINDOW +
+            " ORDER BY i.occurred_at DESC, i.id DESC", nativeQuery = true)
+    Stream<IncidentSummary> streamSummariesByReportedByIn(@Param("reportedBy") List<Long> reportedBy,
+                                                          @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query(value = "SELECT " + SUMMARY_COLUMNS + " FROM incidents i " +
+            "WHERE ST_Intersects(i.location, ST_MakeEnvelope(:minLon, :minLat, :maxLon, :maxLat, 4326)) " +
+            "ORDER BY i.occurred_at DESC, i.id DESC LIMIT :limit", nativeQuery = true)
+    List<IncidentSummary> findWithinEnvelope(@Param("minLon") double minLon, @Param("minLat") double minLat,
+                                             @Param("maxLon") double maxLon, @Param("maxLat") double maxLat,
+                                             @Param("limit") int limit);
+
+    @Query(value = "SELECT " + SUMMARY_COLUMNS + " FROM incidents i " +
+            "WHERE ST_Intersects(i.location, ST_MakeEnvelope(:minLon, :minLat, :maxLon, :maxLat, 4326)) " +
+            "AND i.reported_by IN (:reportedBy) " +
+            "ORDER BY i.occurred_at DESC, i.id DESC LIMIT :limit", nativeQuery = true)
+    List<IncidentSummary> findWithinEnvelopeByReportedByIn(@Param("minLon") double minLon, @Param("minLat") double minLat,
+                                                           @Param("maxLon") double maxLon, @Param("maxLat") double maxLat,
+                                                           @Param("reportedBy") List<Long> reportedBy,
+                                                           @Param("limit") int limit);
+
+    // The casts must match idx_incidents_location_geog so the planner uses it for both the filter and the KNN order.
+    @Query(value = "SELECT " + SUMMARY_COLUMNS + " FROM incidents i " +
+            "WHERE ST_DWithin(i.location::geography, ST_SetSRID(ST_MakePoint(:lon, :lat), 4326)::geography, :radius) " +
+            "ORDER BY i.location::geography <-> ST_SetSRID(ST_MakePoint(:lon, :lat), 4326)::geography " +
+            "LIMIT :limit", nativeQuery = true)
+    List<IncidentSummary> findNear(@Param("lat") double lat, @Param("lon") double lon,
+                                   @Param("radius") double radiusMeters, @Param("limit") int limit);
+
+    @Query(value = "SELECT " + SUMMARY_COLUMNS + " FROM incidents i " +
+            "WHERE ST_DWithin(i.location::geography, ST_SetSRID(ST_MakePoint(:lon, :lat), 4326)::geography, :radius) " +
+            "AND i.reported_by IN (:reportedBy) " +
+            "ORDER BY i.location::geography <-> ST_SetSRID(ST_MakePoint(:lon, :lat), 4326)::geography " +
+            "LIMIT :limit", nativeQuery = true)
+    List<IncidentSummary> findNearByReportedByIn(@Param("lat") double lat, @Param("lon") double lon,
+                                                 @Param("radius") double radiusMeters,
+                                                 @Param("reportedBy") List<Long> reportedBy,
+                                                 @Param("limit") int limit);
+
+    // Grid cells are aligned to multiples of :cell degrees so clusters stay stable while the map pans.
+    // Aliases are quoted: PostgreSQL lower-cases unquoted ones, and the projection reads cellX/cellY.
+    @Query(value = "SELECT floor(ST_X(i.location) / :cell) AS \"cellX\", floor(ST_Y(i.location) / :cell) AS \"cellY\", " +
+            "count(*) AS \"count\", avg(ST_Y(i.location)) AS \"latitude\", avg(ST_X(i.location)) AS \"longitude\" " +
+            "FROM incidents i " +
+            "WHERE ST_Intersects(i.location, ST_MakeEnvelope(:minLon, :minLat, :maxLon, :maxLat, 4326)) " +
+            "GROUP BY 1, 2", nativeQuery = true)
+    List<IncidentCluster> clusterWithinEnvelope(@Param("minLon") double minLon, @Param("minLat") double minLat,
+                                                @Param("maxLon") double maxLon, @Param("maxLat") double maxLat,
+                                                @Param("cell") double cellDegrees);
+
+    @Query(value = "SELECT floor(ST_X(i.location) / :cell) AS \"cellX\", floor(ST_Y(i.location) / :cell) AS \"cellY\", " +
+            "count(*) AS \"count\", avg(ST_Y(i.location)) AS \"latitude\", avg(ST_X(i.location)) AS \"longitude\" " +
+            "FROM incidents i " +
+            "WHERE ST_Intersects(i.location, ST_MakeEnvelope(:minLon, :minLat, :maxLon, :maxLat, 4326)) " +
+            "AND i.reported_by IN (:reportedBy) " +
+            "GROUP BY 1, 2", nativeQuery = true)
+    List<IncidentCluster> clusterWithinEnvelopeByReportedByIn(@Param("minLon") double minLon, @Param("minLat") double minLat,
+                                                              @Param("maxLon") double maxLon, @Param("maxLat") double maxLat,
+                                                              @Param("cell") double cellDegrees,
+                                                              @Param("reportedBy") List<Long> reportedBy);
+}
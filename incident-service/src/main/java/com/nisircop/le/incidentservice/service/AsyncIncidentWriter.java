@@ -0,0 +1,368 @@
+package com.nisircop.le.incidentservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nisircop.le.incidentservice.dto.AsyncIncidentStatus;
+import com.nisircop.le.incidentservice.dto.IncidentBatchResult;
+import com.nisircop.le.incidentservice.dto.IncidentCreateRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Write-behind path for incident creation. Requests that pass field validation are queued in memory and
+ * acknowledged at once; worker threads drain the queue in batches through
+ * {@link IncidentService#createIncidents}. When the queue is full the request is either refused (the caller
+ * answers 429) or, if spilling is enabled, appended to a local NDJSON file that workers replay once the
+ * queue drains. Spilled entries survive a restart; the in-memory tracking status does not.
+ *
+ * <p>Replay records how many lines of the spill file it has flushed, so a retry after an error resumes there
+ * instead of creating the committed entries again; lines that cannot be parsed are moved to a quarantine file.
+ * Replay backs off while flushes keep failing, so a database outage does not turn into a flush-spill-replay loop.
+ *
+ * <p>Workers start with the application context's lifecycle, once every bean they call is ready, and are
+ * stopped before it is torn down; requests arriving outside that window are refused.
+ */
+@Component
+public class AsyncIncidentWriter implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncIncidentWriter.class);
+    private static final long MIN_REPLAY_BACKOFF_MILLIS = 1000;
+    private static final long MAX_REPLAY_BACKOFF_MILLIS = 60_000;
+
+    /** Queued create request; serialized as one line in the spill file. */
+    public record PendingIncident(String trackingId, IncidentCreateRequest request, Long reporterId,
+                                  String reporterRole, LocalDateTime acceptedAt) {
+    }
+
+    private final IncidentService incidentService;
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<PendingIncident> queue;
+    // Accepted but not yet finished: one entry per request in the queue or the spill file, so bounded by them
+    // and never evicted while its request can still be created.
+    private final Map<String, AsyncIncidentStatus> pending = new ConcurrentHashMap<>();
+    private final Cache<String, AsyncIncidentStatus> statuses; // finished outcomes
+    private final int batchSize;
+    private final boolean spillEnabled;
+    private final Path spillFile;
+    private final Path drainingFile;
+    private final Path progressFile;
+    private final Path quarantineFile;
+    private final long spillMaxBytes;
+    private final ReentrantLock spillLock = new ReentrantLock();
+    private final AtomicBoolean replaying = new AtomicBoolean();
+    // Submitters hold the read lock across the running check and the enqueue; stop() takes the write lock to
+    // clear running, so nothing can be queued after the workers' final drain.
+    private final ReadWriteLock lifecycleLock = new ReentrantReadWriteLock();
+    private long replayBackoffMillis; // only touched by the worker that holds replaying
+    private long replayNotBefore;
+    private final int workerCount;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    public AsyncIncidentWriter(IncidentService incidentService,
+                               ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry,
+                               @Value("${incident.async.queue-capacity:10000}") int queueCapacity,
+                               @Value("${incident.async.batch-size:200}") int batchSize,
+                               @Value("${incident.async.workers:2}") int workerCount,
+                               @Value("${incident.async.status-ttl:1h}") Duration statusTtl,
+                               @Value("${incident.async.spill.enabled:false}") boolean spillEnabled,
+                               @Value("${incident.async.spill.path:./data/incident-spill.ndjson}") String spillPath,
+                               @Value("${incident.async.spill.max-bytes:104857600}") long spillMaxBytes) {
+        this.incidentService = incidentService;
+        this.objectMapper = objectMapper;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.statuses = Caffeine.newBuilder()
+                .maximumSize(queueCapacity * 10L)
+                .expireAfterWrite(statusTtl)
+                .build();
+        this.batchSize = batchSize;
+        this.spillEnabled = spillEnabled;
+        this.spillFile = Path.of(spillPath);
+        this.drainingFile = Path.of(spillPath + ".draining");
+        this.progressFile = Path.of(spillPath + ".draining.progress");
+        this.quarantineFile = Path.of(spillPath + ".quarantine");
+        this.spillMaxBytes = spillMaxBytes;
+        this.workerCount = workerCount;
+        meterRegistry.gauge("incident.async.queue.size", queue, BlockingQueue::size);
+    }
+
+    @Override
+    public synchronized void start() {
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::work, "incident-async-writer-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    /**
+     * Queues a validated request. Returns the tracking status, or empty when there is no room.
+     */
+    public Optional<AsyncIncidentStatus> submit(IncidentCreateRequest request, Long reporterId, String reporterRole) {
+        lifecycleLock.readLock().lock();
+        try {
+            if (!running) {
+                return Optional.empty();
+            }
+            String trackingId = UUID.randomUUID().toString();
+            PendingIncident incident = new PendingIncident(trackingId, request, reporterId, reporterRole, LocalDateTime.now());
+            // Recorded before queueing: a worker may flush the request and write its outcome before offer returns.
+            AsyncIncidentStatus status = AsyncIncidentStatus.pending(trackingId);
+            pending.put(trackingId, status);
+            if (!queue.offer(incident) && !(spillEnabled && spill(List.of(incident)))) {
+                pending.remove(trackingId);
+                return Optional.empty();
+            }
+            return Optional.of(status);
+        } finally {
+            lifecycleLock.readLock().unlock();
+        }
+    }
+
+    public Optional<AsyncIncidentStatus> status(String trackingId) {
+        AsyncIncidentStatus status = pending.get(trackingId);
+        return Optional.ofNullable(status != null ? status : statuses.getIfPresent(trackingId));
+    }
+
+    @Override
+    public synchronized void stop() {
+        lifecycleLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            lifecycleLock.writeLock().unlock();
+        }
+        try {
+            for (Thread worker : workers) {
+                worker.join(TimeUnit.SECONDS.toMillis(10));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        workers.clear();
+        if (!queue.isEmpty()) {
+            List<PendingIncident> left = new ArrayList<>();
+            queue.drainTo(left);
+            if (!(spillEnabled && spill(left))) {
+                logger.error("Discarding {} queued incidents at shutdown", left.size());
+                left.forEach(incident -> finish(new AsyncIncidentStatus(incident.trackingId(), AsyncIncidentStatus.FAILED,
+                        null, "Discarded at shutdown")));
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void work() {
+        List<PendingIncident> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingIncident first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    replaySpill();
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Async incident worker failed: {}", e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /** False when a group could not be committed (it was spilled for a retry, or failed). */
+    private boolean flush(List<PendingIncident> batch) {
+        // createIncidents takes one reporter per call; keep arrival order within each reporter.
+        Map<String, List<PendingIncident>> byReporter = new LinkedHashMap<>();
+        for (PendingIncident incident : batch) {
+            byReporter.computeIfAbsent(incident.reporterId() + "|" + incident.reporterRole(), key -> new ArrayList<>()).add(incident);
+        }
+        boolean committed = true;
+        for (List<PendingIncident> group : byReporter.values()) {
+            PendingIncident head = group.get(0);
+            List<IncidentCreateRequest> requests = group.stream().map(PendingIncident::request).toList();
+            try {
+                List<IncidentBatchResult> results = incidentService.createIncidents(requests, head.reporterId(), head.reporterRole());
+                for (IncidentBatchResult result : results) {
+                    String trackingId = group.get(result.index()).trackingId();
+                    finish(new AsyncIncidentStatus(trackingId,
+                            "CREATED".equals(result.status()) ? AsyncIncidentStatus.CREATED : AsyncIncidentStatus.REJECTED,
+                            result.incidentId(), result.error()));
+                }
+            } catch (RuntimeException e) {
+                committed = false;
+                // Nothing was committed for this group; keep it for a later retry if we can.
+                if (spillEnabled && spill(group)) {
+                    logger.warn("Spilled {} incidents after failed flush: {}", group.size(), e.getMessage());
+                } else {
+                    logger.error("Dropping {} incidents after failed flush: {}", group.size(), e.getMessage());
+                    group.forEach(incident -> finish(
+                            new AsyncIncidentStatus(incident.trackingId(), AsyncIncidentStatus.FAILED, null, e.getMessage())));
+                }
+            }
+        }
+        return committed;
+    }
+
+    // Outcome first, then the pending entry: a concurrent status() read always finds one of the two.
+    private void finish(AsyncIncidentStatus status) {
+        statuses.put(status.trackingId(), status);
+        pending.remove(status.trackingId());
+    }
+
+    private boolean spill(List<PendingIncident> entries) {
+        spillLock.lock();
+        try {
+            if (Files.exists(spillFile) && Files.size(spillFile) >= spillMaxBytes) {
+                return false;
+            }
+            if (spillFile.getParent() != null) {
+                Files.createDirectories(spillFile.getParent());
+            }
+            StringBuilder lines = new StringBuilder();
+            for (PendingIncident entry : entries) {
+                lines.append(objectMapper.writeValueAsString(entry)).append('\n');
+            }
+            Files.writeString(spillFile, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND, StandardOpenOption.WRITE, StandardOpenOption.SYNC);
+            return true;
+        } catch (IOException e) {
+            logger.error("Could not spill {} incidents: {}", entries.size(), e.getMessage());
+            return false;
+        } finally {
+            spillLock.unlock();
+        }
+    }
+
+    // Runs only when the queue is idle, on one worker at a time. Progress is recorded after each committed
+    // batch, so only a crash between a commit and that record replays entries twice (at least once overall).
+    private void replaySpill() {
+        if (!spillEnabled || !replaying.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            if (System.currentTimeMillis() < replayNotBefore) {
+                return;
+            }
+            boolean failed = !replayDrainingFile();
+            replayBackoffMillis = failed
+                    ? Math.min(MAX_REPLAY_BACKOFF_MILLIS, Math.max(MIN_REPLAY_BACKOFF_MILLIS, replayBackoffMillis * 2))
+                    : 0;
+            replayNotBefore = System.currentTimeMillis() + replayBackoffMillis;
+        } finally {
+            replaying.set(false);
+        }
+    }
+
+    /** False when the replay stopped on an error or a batch could not be committed. */
+    private boolean replayDrainingFile() {
+        if (!spillLock.tryLock()) {
+            return true;
+        }
+        try {
+            if (!Files.exists(drainingFile)) {
+                if (!Files.exists(spillFile)) {
+                    return true;
+                }
+                Files.deleteIfExists(progressFile); // belongs to the previous, fully replayed file
+                Files.move(spillFile, drainingFile, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (IOException e) {
+            logger.error("Could not rotate spill file: {}", e.getMessage());
+            return false;
+        } finally {
+            spillLock.unlock();
+        }
+
+        boolean committed = true;
+        List<PendingIncident> batch = new ArrayList<>(batchSize);
+        try (BufferedReader reader = Files.newBufferedReader(drainingFile, StandardCharsets.UTF_8)) {
+            long done = Files.exists(progressFile) ? Long.parseLong(Files.readString(progressFile).trim()) : 0;
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber <= done || line.isBlank()) {
+                    continue;
+                }
+                try {
+                    batch.add(objectMapper.readValue(line, PendingIncident.class));
+                } catch (JsonProcessingException e) {
+                    quarantine(line, e);
+                    continue;
+                }
+                if (batch.size() == batchSize) {
+                    committed &= flush(batch);
+                    batch.clear();
+                    recordProgress(lineNumber);
+                }
+            }
+            committed &= flush(batch);
+            batch.clear();
+            recordProgress(lineNumber);
+            Files.delete(drainingFile);
+            Files.delete(progressFile);
+            return committed;
+        } catch (IOException | NumberFormatException e) {
+            logger.error("Could not replay spilled incidents: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    // Written beside the file and moved into place, so a crash never leaves a half-written count.
+    private void recordProgress(long lineNumber) throws IOException {
+        Path written = Path.of(progressFile + ".tmp");
+        Files.writeString(written, Long.toString(lineNumber), StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE, StandardOpenOption.SYNC);
+        Files.move(written, progressFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // A line cut short by a crash mid-append, typically; kept for inspection instead of blocking the replay.
+    private void quarantine(String line, JsonProcessingException cause) throws IOException {
+        logger.error("Moving unreadable spilled incident to {}: {}", quarantineFile, cause.getOriginalMessage());
+        Files.writeString(quarantineFile, line + "\n", StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND, StandardOpenOption.WRITE, StandardOpenOption.SYNC);
+    }
+}
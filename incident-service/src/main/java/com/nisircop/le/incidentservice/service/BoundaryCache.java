@@ -0,0 +1,88 @@
+package com.nisircop.le.incidentservice.service;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nisircop.le.incidentservice.client.AsyncGeoServiceClient;
+import com.nisircop.le.incidentservice.client.BoundaryGeometry;
+import com.nisircop.le.incidentservice.exception.IncidentServiceException;
+import com.nisircop.le.incidentservice.util.Futures;
+import feign.FeignException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKBReader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Reporter boundaries fetched once from the geographic service and held as prepared geometries, so
+ * point-in-boundary checks on create run in-process. Entries are bounded in number, expire after a TTL
+ * and are dropped early when the geographic service reports a boundary change.
+ * <p>
+ * Loads run in the geographic-service bulkhead rather than inside the cache's map lock, so a virtual
+ * thread waiting on the geographic service parks instead of pinning its carrier.
+ */
+@Component
+public class BoundaryCache {
+
+    private final AsyncGeoServiceClient geoServiceClient;
+    private final AsyncLoadingCache<Long, Optional<PreparedGeometry>> boundaries;
+
+    public BoundaryCache(AsyncGeoServiceClient geoServiceClient,
+                         MeterRegistry meterRegistry,
+                         @Value("${incident.boundary-cache.max-size:10000}") long maxSize,
+                         @Value("${incident.boundary-cache.ttl:15m}") Duration ttl) {
+        this.geoServiceClient = geoServiceClient;
+        this.boundaries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync((userId, executor) -> geoServiceClient.getBoundaryGeometry(userId)
+                        .handle((response, failure) -> decode(userId, response, failure)));
+        CaffeineCacheMetrics.monitor(meterRegistry, boundaries, "boundaries");
+    }
+
+    /**
+     * Whether the point lies inside the user's boundary; users without a boundary contain nothing.
+     */
+    public boolean contains(Long userId, Point point) {
+        return Futures.join(boundaries.get(userId))
+                .map(boundary -> boundary.contains(point))
+                .orElse(false);
+    }
+
+    public void invalidate(Long userId) {
+        boundaries.synchronous().invalidate(userId);
+    }
+
+    public void invalidateAll() {
+        boundaries.synchronous().invalidateAll();
+    }
+
+    // A missing boundary is cached as empty; transport errors propagate and are not cached.
+    private Optional<PreparedGeometry> decode(Long userId, BoundaryGeometry response, Throwable failure) {
+        if (failure != null) {
+            RuntimeException cause = Futures.unwrap(failure);
+            if (cause instanceof FeignException.NotFound) {
+                return Optional.empty();
+            }
+            throw cause;
+        }
+        if (response == null || response.getWkb() == null) {
+            return Optional.empty();
+        }
+        try {
+            Geometry boundary = new WKBReader().read(WKBReader.hexToBytes(response.getWkb()));
+            return Optional.of(PreparedGeometryFactory.prepare(boundary));
+        } catch (ParseException e) {
+            throw new IncidentServiceException("Boundary for user " + userId + " could not be decoded.", "BOUNDARY_DECODE_FAILED", e);
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.nisircop.le.incidentservice.service;
+
+import com.nisircop.le.incidentservice.model.Incident;
+import com.nisircop.le.incidentservice.repository.IncidentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Spots reports of the same event: same incident type, within {@code radius-meters} and {@code window} of an
+ * incident this instance created recently. Recent incidents live in an in-memory spatial hash of square
+ * cells one radius wide, so a lookup reads the caller's cell and its neighbours (a few map reads and a
+ * short array scan) and never touches the database. Each cell holds an immutable array that is replaced on
+ * write, so lookups take no locks.
+ * <p>
+ * A duplicate is remembered under the id of the incident it links to, so later reports of the same event
+ * keep linking to the first one while the event goes on. The window is rebuilt from the database on
+ * startup; reports created on other instances are not seen.
+ */
+@Component
+public class DuplicateIncidentDetector {
+
+    private static final Logger logger = LoggerFactory.getLogger(DuplicateIncidentDetector.class);
+
+    private static final double METERS_PER_DEGREE = 111_320;
+    private static final int MAX_LON_NEIGHBOURS = 16;
+
+    private record Entry(long rootId, String type, double latitude, double longitude, long seenAtMillis) {
+    }
+
+    private final IncidentRepository incidentRepository;
+    private final ConcurrentHashMap<Long, Entry[]> cells = new ConcurrentHashMap<>();
+    private final AtomicInteger entries = new AtomicInteger();
+    private final Counter detected;
+    private final boolean enabled;
+    private final double radiusMeters;
+    private final double cellDegrees;
+    private final long windowMillis;
+    private final int maxEntries;
+
+    public DuplicateIncidentDetector(IncidentRepository incidentRepository,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${incident.duplicates.enabled:true}") boolean enabled,
+                                     @Value("${incident.duplicates.radius-meters:150}") double radiusMeters,
+                                     @Value("${incident.duplicates.window:10m}") Duration window,
+                                     @Value("${incident.duplicates.max-entries:200000}") int maxEntries) {
+        this.incidentRepository = incidentRepository;
+        this.enabled = enabled;
+        this.radiusMeters = radiusMeters;
+        this.cellDegrees = radiusMeters / METERS_PER_DEGREE;
+        this.windowMillis = window.toMillis();
+        this.maxEntries = maxEntries;
+        this.detected = meterRegistry.counter("incident.duplicates.detected");
+        meterRegistry.gauge("incident.duplicates.window.size", entries);
+    }
+
+    /**
+     * Id of the incident the given report most likely duplicates (the nearest match), or {@code null}.
+     */
+    public Long findDuplicate(String incidentType, double latitude, double longitude) {
+        if (!enabled) {
+            return null;
+        }
+        String type = Objects.requireNonNullElse(incidentType, "");
+        long oldest = System.currentTimeMillis() - windowMillis;
+        long row = row(latitude);
+        long column = column(longitude);
+        int lonNeighbours = lonNeighbours(latitude);
+        double metersPerLonDegree = METERS_PER_DEGREE * Math.cos(Math.toRadians(latitude));
+
+        Entry nearest = null;
+        double nearestMeters = radiusMeters;
+        for (long r = row - 1; r <= row + 1; r++) {
+            for (long c = column - lonNeighbours; c <= column + lonNeighbours; c++) {
+                Entry[] cell = cells.get(key(r, c));
+                if (cell == null) {
+                    continue;
+                }
+                for (Entry entry : cell) {
+                    if (entry.seenAtMillis < oldest || !entry.type.equals(type)) {
+                        continue;
+                    }
+                    // Equirectangular distance: well within a metre of haversine at these ranges.
+                    double dy = (entry.latitude - latitude) * METERS_PER_DEGREE;
+                    double dx = (entry.longitude - longitude) * metersPerLonDegree;
+                    double meters = Math.sqrt(dx * dx + dy * dy);
+                    if (meters <= nearestMeters) {
+                        nearest = entry;
+                        nearestMeters = meters;
+                    }
+                }
+            }
+        }
+        if (nearest == null) {
+            return null;
+        }
+        detected.increment();
+        return nearest.rootId;
+    }
+
+    /**
+     * Adds a saved incident to the window once its transaction commits, so rolled-back creates are never
+     * linked to.
+     */
+    public void registerAfterCommit(List<Incident> incidents) {
+        if (!enabled || incidents.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            incidents.forEach(this::register);
+            return;
+        }
+        List<Incident> committed = List.copyOf(incidents);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                committed.forEach(DuplicateIncidentDetector.this::register);
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            List<Incident> recent = incidentRepository.findByOccurredAtGreaterThanEqual(
+                    LocalDateTime.now().minus(Duration.ofMillis(windowMillis)));
+            recent.forEach(this::register);
+            logger.info("Duplicate detection window loaded with {} recent incidents", recent.size());
+        } catch (RuntimeException e) {
+            logger.warn("Could not load recent incidents for duplicate detection: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${incident.duplicates.sweep-interval-ms:60000}")
+    public void sweep() {
+        long oldest = System.currentTimeMillis() - windowMillis;
+        for (Long key : cells.keySet()) {
+            cells.computeIfPresent(key, (k, cell) -> prune(cell, oldest));
+        }
+    }
+
+    private void register(Incident incident) {
+        if (incident.getLocation() == null || incident.getOccurredAt() == null) {
+            return;
+        }
+        if (entries.get() >= maxEntries) {
+            logger.warn("Duplicate detection window is full ({} entries); not tracking incident {}", maxEntries, incident.getId());
+            return;
+        }
+        double latitude = incident.getLocation().getY();
+        double longitude = incident.getLocation().getX();
+        long rootId = incident.getDuplicateOf() != null ? incident.getDuplicateOf() : incident.getId();
+        Entry entry = new Entry(rootId, Objects.requireNonNullElse(incident.getIncidentType(), ""), latitude, longitude,
+                incident.getOccurredAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        long oldest = System.currentTimeMillis() - windowMillis;
+        cells.compute(key(row(latitude), column(longitude)), (k, cell) -> {
+            Entry[] live = cell == null ? null : prune(cell, oldest);
+            int count = live == null ? 0 : live.length;
+            Entry[] grown = live == null ? new Entry[1] : Arrays.copyOf(live, count + 1);
+            grown[count] = entry;
+            entries.incrementAndGet();
+            return grown;
+        });
+    }
+
+    // Returns the cell without expired entries, or null (removing the cell) when nothing is left.
+    private Entry[] prune(Entry[] cell, long oldest) {
+        int live = 0;
+        for (Entry entry : cell) {
+            if (entry.seenAtMillis >= oldest) {
+                live++;
+            }
+        }
+        if (live == cell.length) {
+            return cell;
+        }
+        entries.addAndGet(live - cell.length);
+        if (live == 0) {
+            return null;
+        }
+        Entry[] kept = new Entry[live];
+        int i = 0;
+        for (Entry entry : cell) {
+            if (entry.seenAtMillis >= oldest) {
+                kept[i++] = entry;
+            }
+        }
+        return kept;
+    }
+
+    private long row(double latitude) {
+        return (long) Math.floor((latitude + 90) / cellDegrees);
+    }
+
+    private long column(double longitude) {
+        return (long) Math.floor((longitude + 180) / cellDegrees);
+    }
+
+    // Cells are square in degrees, so a radius spans more longitude cells away from the equator.
+    private int lonNeighbours(double latitude) {
+        double cos = Math.cos(Math.toRadians(latitude));
+        return cos <= 1.0 / MAX_LON_NEIGHBOURS ? MAX_LON_NEIGHBOURS : (int) Math.ceil(1 / cos);
+    }
+
+    private static long key(long row, long column) {
+        return (row << 32) | (column & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,216 @@
+package com.nisircop.le.incidentservice.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nisircop.le.incidentservice.dto.TimeWindow;
+import com.nisircop.le.incidentservice.exception.IncidentServiceException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Writes every incident visible to the caller as CSV or GeoJSON straight from a forward-only JDBC cursor.
+ * Rows are fetched {@value #FETCH_SIZE} at a time and written as they arrive, so heap use does not depend
+ * on the export size. Unlike the list views, exports include the description.
+ */
+@Component
+public class IncidentExporter {
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        GEOJSON("application/geo+json", "geojson");
+
+        public final String mediaType;
+        public final String extension;
+
+        Format(String mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public static Format parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new IncidentServiceException("format must be csv or geojson", "INVALID_FORMAT");
+            }
+        }
+    }
+
+    private static final int FETCH_SIZE = 1000;
+
+    private static final String CSV_HEADER =
+            "id,title,description,incidentType,priority,latitude,longitude,reportedBy,occurredAt,duplicateOf\n";
+
+    // Leading characters spreadsheet applications read as the start of a formula.
+    private static final String FORMULA_START = "=+-@\t\r";
+
+    private static final String SELECT =
+            "SELECT i.id, i.title, i.description, i.incident_type, i.priority, ST_Y(i.location) AS latitude, " +
+            "ST_X(i.location) AS longitude, i.reported_by, i.occurred_at, i.duplicate_of FROM incidents i " +
+            "WHERE i.occurred_at >= :from AND i.occurred_at < :to";
+
+    private final IncidentService incidentService;
+    private final NamedParameterJdbcTemplate cursorTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+
+    public IncidentExporter(IncidentService incidentService,
+                            DataSource dataSource,
+                            PlatformTransactionManager transactionManager,
+                            ObjectMapper objectMapper) {
+        this.incidentService = incidentService;
+        // The PostgreSQL driver only streams with a fetch size when auto-commit is off, hence the transaction.
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.cursorTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    public void export(Long userId, String userRole, TimeWindow window, Format format, OutputStream out) throws IOException {
+        List<Long> reporterIds = incidentService.visibleReporterIds(userId, userRole);
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("from", Timestamp.valueOf(window.from()))
+                .addValue("to", Timestamp.valueOf(window.to()));
+        String sql = SELECT;
+        if (reporterIds != null && reporterIds.isEmpty()) {
+            // Still run the query so the caller gets a valid, empty document.
+            sql += " AND FALSE";
+        } else if (reporterIds != null) {
+            sql += " AND i.reported_by IN (:reportedBy)";
+            params.addValue("reportedBy", reporterIds);
+        }
+        String query = sql + " ORDER BY i.occurred_at, i.id";
+
+        try {
+            if (format == Format.CSV) {
+                exportCsv(query, params, out);
+            } else {
+                exportGeoJson(query, params, out);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void exportCsv(String query, MapSqlParameterSource params, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        writer.write(CSV_HEADER);
+        readOnlyTransaction.executeWithoutResult(status -> cursorTemplate.query(query, params, rs -> {
+            try {
+                writer.write(Long.toString(rs.getLong("id")));
+                writer.write(',');
+                writeCsvText(writer, rs.getString("title"));
+                writer.write(',');
+                writeCsvText(writer, rs.getString("description"));
+                writer.write(',');
+                writeCsvText(writer, rs.getString("incident_type"));
+                writer.write(',');
+                writeCsvText(writer, rs.getString("priority"));
+                writer.write(',');
+                writer.write(Double.toString(rs.getDouble("latitude")));
+                writer.write(',');
+                writer.write(Double.toString(rs.getDouble("longitude")));
+                writer.write(',');
+                writer.write(Long.toString(rs.getLong("reported_by")));
+                writer.write(',');
+                writer.write(rs.getTimestamp("occurred_at").toLocalDateTime().toString());
+                writer.write(',');
+                long duplicateOf = rs.getLong("duplicate_of");
+                if (!rs.wasNull()) {
+                    writer.write(Long.toString(duplicateOf));
+                }
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }));
+        writer.flush();
+    }
+
+    private void exportGeoJson(String query, MapSqlParameterSource params, OutputStream out) throws IOException {
+        JsonGenerator json = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+        json.writeStartObject();
+        json.writeStringField("type", "FeatureCollection");
+        json.writeArrayFieldStart("features");
+        readOnlyTransaction.executeWithoutResult(status -> cursorTemplate.query(query, params, rs -> {
+            try {
+                writeFeature(json, rs);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }));
+        json.writeEndArray();
+        json.writeEndObject();
+        json.flush();
+    }
+
+    private static void writeFeature(JsonGenerator json, ResultSet rs) throws IOException, SQLException {
+        json.writeStartObject();
+        json.writeStringField("type", "Feature");
+        json.writeNumberField("id", rs.getLong("id"));
+        json.writeObjectFieldStart("geometry");
+        json.writeStringField("type", "Point");
+        json.writeArrayFieldStart("coordinates");
+        json.writeNumber(rs.getDouble("longitude"));
+        json.writeNumber(rs.getDouble("latitude"));
+        json.writeEndArray();
+        json.writeEndObject();
+        json.writeObjectFieldStart("properties");
+        json.writeStringField("title", rs.getString("title"));
+        json.writeStringField("description", rs.getString("description"));
+        json.writeStringField("incidentType", rs.getString("incident_type"));
+        json.writeStringField("priority", rs.getString("priority"));
+        json.writeNumberField("reportedBy", rs.getLong("reported_by"));
+        json.writeStringField("occurredAt", rs.getTimestamp("occurred_at").toLocalDateTime().toString());
+        long duplicateOf = rs.getLong("duplicate_of");
+        if (!rs.wasNull()) {
+            json.writeNumberField("duplicateOf", duplicateOf);
+        }
+        json.writeEndObject();
+        json.writeEndObject();
+    }
+
+    // RFC 4180: quote when the value holds a delimiter, quote or line break; double embedded quotes.
+    // Text starting with a formula character gets a leading apostrophe, so spreadsheets show it rather than
+    // evaluate it (titles and descriptions are free text from any reporter).
+    static void writeCsvText(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (!value.isEmpty() && FORMULA_START.indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
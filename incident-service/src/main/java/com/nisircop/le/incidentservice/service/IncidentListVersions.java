@@ -0,0 +1,56 @@
+package com.nisircop.le.incidentservice.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Per-reporter change counters in {@code incident_list_version}, the basis of list ETags. Each change
+ * increments its reporter's row inside the writing transaction, and the row lock makes concurrent writers
+ * of the same reporter commit their increments one after another. A counter therefore only ever grows, in
+ * commit order, and so does the sum over any set of reporters; a scope's version never repeats.
+ */
+@Component
+public class IncidentListVersions {
+
+    private static final String INCREMENT =
+            "INSERT INTO incident_list_version (reported_by, version) VALUES (?, 1) " +
+            "ON CONFLICT (reported_by) DO UPDATE SET version = incident_list_version.version + 1";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public IncidentListVersions(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void increment(Long reporterId) {
+        jdbcTemplate.update(INCREMENT, reporterId);
+    }
+
+    /** For changes that bypass the per-incident path, such as retiring a partition. */
+    @Transactional
+    public void incrementAll() {
+        jdbcTemplate.update("UPDATE incident_list_version SET version = version + 1");
+    }
+
+    /**
+     * Sum of the counters of the given reporters ({@code null} meaning all), or 0 if none has changed yet.
+     */
+    @Transactional(readOnly = true)
+    public long version(List<Long> reporterIds) {
+        Long sum = reporterIds == null
+                ? jdbcTemplate.queryForObject("SELECT COALESCE(SUM(version), 0) FROM incident_list_version", Long.class)
+                : namedJdbcTemplate.queryForObject(
+                        "SELECT COALESCE(SUM(version), 0) FROM incident_list_version WHERE reported_by IN (:reportedBy)",
+                        new MapSqlParameterSource("reportedBy", reporterIds), Long.class);
+        return sum == null ? 0 : sum;
+    }
+}
@@ -0,0 +1,62 @@
+package com.nisircop.le.incidentservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nisircop.le.incidentservice.event.IncidentChangeEvent;
+import com.nisircop.le.incidentservice.exception.IncidentServiceException;
+import com.nisircop.le.incidentservice.model.Incident;
+import com.nisircop.le.incidentservice.model.IncidentOutboxEvent;
+import com.nisircop.le.incidentservice.repository.IncidentOutboxRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Writes incident change events into the outbox table. Must join the caller's transaction so the
+ * event commits or rolls back together with the change. Each event is also announced on the
+ * {@value #CHANNEL} NOTIFY channel, which PostgreSQL delivers to every listening instance on commit.
+ */
+@Component
+public class IncidentOutbox {
+
+    public static final String CHANNEL = "incident_changes";
+
+    private final IncidentOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final IncidentListVersions listVersions;
+
+    public IncidentOutbox(IncidentOutboxRepository outboxRepository, ObjectMapper objectMapper, JdbcTemplate jdbcTemplate,
+                          IncidentListVersions listVersions) {
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.listVersions = listVersions;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(String type, Incident incident) {
+        IncidentOutboxEvent event = new IncidentOutboxEvent();
+        event.setIncidentId(incident.getId());
+        event.setReportedBy(incident.getReportedBy());
+        event.setEventType(type);
+        try {
+            event.setPayload(objectMapper.writeValueAsString(IncidentChangeEvent.of(type, incident)));
+        } catch (JsonProcessingException e) {
+            throw new IncidentServiceException("Could not serialize incident change event.", "OUTBOX_WRITE_FAILED", e);
+        }
+        IncidentOutboxEvent saved = outboxRepository.save(event);
+        listVersions.increment(incident.getReportedBy());
+        // Only the id: a NOTIFY payload is capped at 8000 bytes, and listeners read the committed row anyway.
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, CHANNEL, String.valueOf(saved.getId()));
+    }
+
+    public IncidentChangeEvent decode(IncidentOutboxEvent row) {
+        try {
+            return objectMapper.readValue(row.getPayload(), IncidentChangeEvent.class).withEventId(row.getId());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt outbox payload for event " + row.getId(), e);
+        }
+    }
+}
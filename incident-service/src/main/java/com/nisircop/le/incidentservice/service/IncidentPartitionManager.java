@@ -0,0 +1,157 @@
+package com.nisircop.le.incidentservice.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the monthly partitions of {@code incidents} ahead of the clock and retires expired ones.
+ * Upcoming months are created in advance so inserts never land in the default partition; expired months
+ * are detached (left as standalone tables for archiving) or dropped, both of which are metadata-only.
+ * The table itself is converted to a partitioned one by {@code IncidentSchemaInitializer}.
+ */
+@Component
+public class IncidentPartitionManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(IncidentPartitionManager.class);
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    // pg_get_expr renders bounds as: FOR VALUES FROM ('2024-05-01 00:00:00') TO ('2024-06-01 00:00:00')
+    private static final Pattern RANGE_BOUND = Pattern.compile("FROM \\((?:MINVALUE|'([^']+)')\\) TO \\((?:MAXVALUE|'([^']+)')\\)");
+
+    record PartitionRange(String name, LocalDateTime from, LocalDateTime to) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IncidentListVersions listVersions;
+    private final IncidentRollups rollups;
+    private final TransactionTemplate transactionTemplate;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final boolean dropExpired;
+
+    public IncidentPartitionManager(JdbcTemplate jdbcTemplate,
+                                    IncidentListVersions listVersions,
+                                    IncidentRollups rollups,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${incident.partitions.months-ahead:3}") int monthsAhead,
+                                    @Value("${incident.partitions.retention-months:0}") int retentionMonths,
+                                    @Value("${incident.partitions.expired:detach}") String expiredAction) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.listVersions = listVersions;
+        this.rollups = rollups;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.dropExpired = "drop".equalsIgnoreCase(expiredAction);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${incident.partitions.cron:0 5 0 * * *}")
+    public void maintain() {
+        try {
+            if (!isPartitioned()) {
+                logger.warn("incidents is not partitioned; skipping partition maintenance");
+                return;
+            }
+            List<PartitionRange> partitions = partitions();
+            LocalDateTime currentMonth = LocalDate.now().withDayOfMonth(1).atStartOfDay();
+            createUpcoming(partitions, currentMonth);
+            if (retentionMonths > 0) {
+                retireExpired(partitions, currentMonth.minusMonths(retentionMonths));
+            }
+        } catch (DataAccessException e) {
+            logger.error("Partition maintenance failed: {}", e.getMessage());
+        }
+    }
+
+    private void createUpcoming(List<PartitionRange> partitions, LocalDateTime currentMonth) {
+        // Start after the highest existing bound: months already covered (e.g. by the legacy partition)
+        // cannot get a second partition. Gaps behind the current month stay in the default partition.
+        LocalDateTime month = currentMonth;
+        for (PartitionRange partition : partitions) {
+            if (partition.to() != null && partition.to().isAfter(month)) {
+                month = partition.to();
+            }
+        }
+        LocalDateTime last = currentMonth.plusMonths(monthsAhead);
+        for (; !month.isAfter(last); month = month.plusMonths(1)) {
+            String name = "incidents_p" + month.format(PARTITION_SUFFIX);
+            try {
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + name + " PARTITION OF incidents FOR VALUES FROM ('"
+                        + month + "') TO ('" + month.plusMonths(1) + "')");
+                logger.info("Ensured incident partition {}", name);
+            } catch (DataAccessException e) {
+                logger.warn("Could not create incident partition {}: {}", name, e.getMessage());
+            }
+        }
+    }
+
+    private void retireExpired(List<PartitionRange> partitions, LocalDateTime cutoff) {
+        boolean retired = false;
+        for (PartitionRange partition : partitions) {
+            if (partition.to() == null || partition.to().isAfter(cutoff)) {
+                continue;
+            }
+            String sql = dropExpired
+                    ? "DROP TABLE " + partition.name()
+                    : "ALTER TABLE incidents DETACH PARTITION " + partition.name();
+            try {
+                // The partition's counters go in the same transaction, so rollup totals never include rows
+                // that are no longer in incidents.
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.execute(sql);
+                    rollups.retired(partition.from(), partition.to());
+                });
+                retired = true;
+                logger.info("{} expired incident partition {} (before {})", dropExpired ? "Dropped" : "Detached",
+                        partition.name(), partition.to());
+            } catch (DataAccessException e) {
+                logger.warn("Could not retire incident partition {}: {}", partition.name(), e.getMessage());
+            }
+        }
+        if (retired) {
+            // Every reporter's list may have lost rows, without a change event to count it.
+            listVersions.incrementAll();
+        }
+    }
+
+    private boolean isPartitioned() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT relkind = 'p' FROM pg_class WHERE oid = to_regclass('incidents')", Boolean.class));
+    }
+
+    /** Range partitions of incidents; the default partition is left out. */
+    List<PartitionRange> partitions() {
+        return jdbcTemplate.query(
+                "SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = 'incidents'::regclass",
+                (rs, rowNum) -> {
+                    Matcher bound = RANGE_BOUND.matcher(rs.getString(2));
+                    if (!bound.find()) {
+                        return null;
+                    }
+                    return new PartitionRange(rs.getString(1), toDateTime(bound.group(1)), toDateTime(bound.group(2)));
+                }).stream().filter(Objects::nonNull).toList();
+    }
+
+    private static LocalDateTime toDateTime(String literal) {
+        return literal == null ? null : LocalDateTime.parse(literal.replace(' ', 'T'));
+    }
+}
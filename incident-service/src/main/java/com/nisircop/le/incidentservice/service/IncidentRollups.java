@@ -0,0 +1,194 @@
+package com.nisircop.le.incidentservice.service;
+
+import com.nisircop.le.incidentservice.dto.IncidentCount;
+import com.nisircop.le.incidentservice.dto.TimeWindow;
+import com.nisircop.le.incidentservice.exception.IncidentServiceException;
+import com.nisircop.le.incidentservice.model.Incident;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Hourly incident counters in {@code incident_rollup}, so count-by-type/priority/reporter/hour reads touch
+ * one row per bucket instead of scanning incidents. Writes join the caller's transaction: JDBC statements
+ * run on the JPA transaction's connection, so counters commit or roll back with the change they count.
+ */
+@Component
+public class IncidentRollups {
+
+    private static final Logger logger = LoggerFactory.getLogger(IncidentRollups.class);
+
+    /** Rollup dimension a read groups by, mapped to its column. */
+    public enum Dimension {
+        TYPE("incident_type"),
+        PRIORITY("priority"),
+        REPORTER("reported_by::text"),
+        HOUR("to_char(bucket, 'YYYY-MM-DD\"T\"HH24:00')");
+
+        private final String expression;
+
+        Dimension(String expression) {
+            this.expression = expression;
+        }
+
+        public static Dimension parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new IncidentServiceException("groupBy must be one of type, priority, reporter, hour", "INVALID_GROUP_BY");
+            }
+        }
+    }
+
+    private record Key(LocalDateTime bucket, String incidentType, String priority, Long reportedBy) {
+        static Key of(Incident incident) {
+            return new Key(incident.getOccurredAt().truncatedTo(ChronoUnit.HOURS),
+                    Objects.requireNonNullElse(incident.getIncidentType(), ""), incident.getPriority(), incident.getReportedBy());
+        }
+    }
+
+    // Fixed key order: concurrent writers touching the same rows lock them in the same order and cannot deadlock.
+    private static final Comparator<Key> KEY_ORDER = Comparator.comparing(Key::bucket)
+            .thenComparing(Key::reportedBy)
+            .thenComparing(Key::incidentType)
+            .thenComparing(Key::priority);
+
+    private static final String UPSERT =
+            "INSERT INTO incident_rollup (bucket, incident_type, priority, reported_by, incident_count) " +
+            "VALUES (?, ?, ?, ?, ?) ON CONFLICT (bucket, incident_type, priority, reported_by) " +
+            "DO UPDATE SET incident_count = incident_rollup.incident_count + EXCLUDED.incident_count";
+
+    private static final String REBUILD =
+            "INSERT INTO incident_rollup (bucket, incident_type, priority, reported_by, incident_count) " +
+            "SELECT date_trunc('hour', occurred_at), COALESCE(incident_type, ''), priority, reported_by, COUNT(*) " +
+            "FROM incidents GROUP BY 1, 2, 3, 4";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public IncidentRollups(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void added(Collection<Incident> incidents) {
+        Map<Key, Long> deltas = new TreeMap<>(KEY_ORDER);
+        incidents.forEach(incident -> deltas.merge(Key.of(incident), 1L, Long::sum));
+        apply(deltas);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removed(Incident incident) {
+        Map<Key, Long> deltas = new TreeMap<>(KEY_ORDER);
+        deltas.put(Key.of(incident), -1L);
+        apply(deltas);
+    }
+
+    /** Moves one count when an update changed the type or priority; {@code before} holds the old values. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void changed(Incident before, Incident after) {
+        Key from = Key.of(before);
+        Key to = Key.of(after);
+        if (from.equals(to)) {
+            return;
+        }
+        Map<Key, Long> deltas = new TreeMap<>(KEY_ORDER);
+        deltas.put(from, -1L);
+        deltas.put(to, 1L);
+        apply(deltas);
+    }
+
+    /**
+     * Drops the counters of a retired partition's range, joining the caller's transaction; {@code from} of
+     * {@code null} means unbounded below. Partition bounds fall on month starts, so whole buckets go.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void retired(LocalDateTime from, LocalDateTime to) {
+        if (from == null) {
+            jdbcTemplate.update("DELETE FROM incident_rollup WHERE bucket < ?", Timestamp.valueOf(to));
+        } else {
+            jdbcTemplate.update("DELETE FROM incident_rollup WHERE bucket >= ? AND bucket < ?",
+                    Timestamp.valueOf(from), Timestamp.valueOf(to));
+        }
+    }
+
+    /**
+     * Sums counters per group over the window; {@code reporterIds} of {@code null} means every reporter.
+     * Cost grows with the number of buckets in range, not the number of incidents.
+     */
+    @Transactional(readOnly = true)
+    public List<IncidentCount> counts(Dimension dimension, TimeWindow window, List<Long> reporterIds) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("from", Timestamp.valueOf(window.from()))
+                .addValue("to", Timestamp.valueOf(window.to()));
+        StringBuilder sql = new StringBuilder("SELECT ").append(dimension.expression)
+                .append(", SUM(incident_count) FROM incident_rollup WHERE bucket >= :from AND bucket < :to");
+        if (reporterIds != null) {
+            sql.append(" AND reported_by IN (:reportedBy)");
+            params.addValue("reportedBy", reporterIds);
+        }
+        sql.append(" GROUP BY 1 HAVING SUM(incident_count) > 0 ORDER BY 1");
+        return namedJdbcTemplate.query(sql.toString(), params,
+                (rs, rowNum) -> new IncidentCount(rs.getString(1), rs.getLong(2)));
+    }
+
+    /**
+     * Recomputes every counter from the incidents table. TRUNCATE locks the rollup table first, so writers
+     * either committed before the recount (and are included) or wait and apply their delta after it.
+     */
+    @Scheduled(cron = "${incident.rollup.rebuild-cron:-}")
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        Integer rows = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("TRUNCATE incident_rollup");
+            return jdbcTemplate.update(REBUILD);
+        });
+        logger.info("Rebuilt incident rollup: {} rows in {} ms", rows, System.currentTimeMillis() - started);
+    }
+
+    // First start after the rollup table was introduced: counters are empty while incidents are not.
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedIfEmpty() {
+        Boolean empty = jdbcTemplate.queryForObject(
+                "SELECT NOT EXISTS (SELECT 1 FROM incident_rollup) AND EXISTS (SELECT 1 FROM incidents)", Boolean.class);
+        if (Boolean.TRUE.equals(empty)) {
+            rebuild();
+        }
+    }
+
+    private void apply(Map<Key, Long> deltas) {
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((key, delta) -> {
+            if (delta != 0) {
+                rows.add(new Object[]{Timestamp.valueOf(key.bucket()), key.incidentType(), key.priority(), key.reportedBy(), delta});
+            }
+        });
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT, rows);
+        }
+    }
+}
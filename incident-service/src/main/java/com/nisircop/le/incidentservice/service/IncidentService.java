@@ -1,17 +1,29 @@
 package com.nisircop.le.incidentservice.service;
 
-import com.nisircop.le.incidentservice.client.GeoServiceClient;
+import com.nisircop.le.incidentservice.client.AsyncGeoServiceClient;
 import com.nisircop.le.incidentservice.client.PointValidationRequest;
-import com.nisircop.le.incidentservice.client.UserResponse;
-import com.nisircop.le.incidentservice.client.UserServiceClient;
+import com.nisircop.le.incidentservice.dto.BoundingBox;
+import com.nisircop.le.incidentservice.dto.IncidentBatchResult;
+import com.nisircop.le.incidentservice.dto.IncidentCluster;
+import com.nisircop.le.incidentservice.dto.IncidentCount;
 import com.nisircop.le.incidentservice.dto.IncidentCreateRequest;
+import com.nisircop.le.incidentservice.dto.IncidentCursor;
+import com.nisircop.le.incidentservice.dto.IncidentPage;
+import com.nisircop.le.incidentservice.dto.IncidentSearchResult;
+import com.nisircop.le.incidentservice.dto.IncidentSummary;
+import com.nisircop.le.incidentservice.dto.IncidentVersion;
+import com.nisircop.le.incidentservice.dto.TimeWindow;
+import com.nisircop.le.incidentservice.event.IncidentChangeEvent;
+import com.nisircop.le.incidentservice.exception.IncidentServiceException;
 import com.nisircop.le.incidentservice.model.Incident;
 import com.nisircop.le.incidentservice.repository.IncidentRepository;
+import com.nisircop.le.incidentservice.util.Futures;
+import com.nisircop.le.incidentservice.util.LongSet;
+import jakarta.persistence.EntityManager;
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.Point;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.ResponseEntity;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,36 +32,196 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class IncidentService {
 
     private final IncidentRepository incidentRepository;
-    private final GeoServiceClient geoServiceClient;
-    private final UserServiceClient userServiceClient;
+    private final AsyncGeoServiceClient geoServiceClient;
+    private final BoundaryCache boundaryCache;
+    private final StationMembershipCache membershipCache;
+    private final IncidentOutbox outbox;
+    private final IncidentListVersions listVersions;
+    private final IncidentRollups rollups;
+    private final DuplicateIncidentDetector duplicates;
+    private final EntityManager entityManager;
 
     public IncidentService(IncidentRepository incidentRepository,
-                          GeoServiceClient geoServiceClient,
-                          UserServiceClient userServiceClient) {
+                          AsyncGeoServiceClient geoServiceClient,
+                          BoundaryCache boundaryCache,
+                          StationMembershipCache membershipCache,
+                          IncidentOutbox outbox,
+                          IncidentListVersions listVersions,
+                          IncidentRollups rollups,
+                          DuplicateIncidentDetector duplicates,
+                          EntityManager entityManager) {
         this.incidentRepository = incidentRepository;
         this.geoServiceClient = geoServiceClient;
-        this.userServiceClient = userServiceClient;
+        this.boundaryCache = boundaryCache;
+        this.membershipCache = membershipCache;
+        this.outbox = outbox;
+        this.listVersions = listVersions;
+        this.rollups = rollups;
+        this.duplicates = duplicates;
+        this.entityManager = entityManager;
     }
 
+    private static final int CLUSTER_CELLS_PER_TILE = 4;
+    private static final int MAX_CLUSTER_CELLS = 10_000;
+    // Every search page re-ranks all matches, so deep offsets cost as much as the whole result; nobody reads
+    // past the first few pages of a relevance ranking anyway.
+    private static final int MAX_SEARCH_OFFSET = 1_000;
+
     private final GeometryFactory geometryFactory = new GeometryFactory();
 
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int jdbcBatchSize;
+
+    @Value("${incident.boundary-cache.enabled:true}")
+    private boolean boundaryCacheEnabled;
+
     @Transactional(readOnly = true)
-    public List<Incident> getAllIncidents(Long userId, String userRole) {
-        return switch (userRole) {
-            case "SUPER_USER" -> incidentRepository.findAll();
-            case "POLICE_STATION" -> {
-                List<Long> userIds = new ArrayList<>(userServiceClient.getOfficerIdsByStation(userId));
-                userIds.add(userId);
-                yield incidentRepository.findByReportedByIn(userIds);
+    public List<IncidentSummary> getAllIncidents(Long userId, String userRole, TimeWindow window) {
+        List<Long> reporterIds = visibleReporterIds(userId, userRole);
+        if (reporterIds == null) {
+            return incidentRepository.findAllSummaries(window.from(), window.to());
+        }
+        return reporterIds.isEmpty()
+                ? Collections.emptyList()
+                : incidentRepository.findSummariesByReportedByIn(reporterIds, window.from(), window.to());
+    }
+
+    /**
+     * Returns one keyset page of the incidents visible to the caller, newest first.
+     */
+    @Transactional(readOnly = true)
+    public IncidentPage<IncidentSummary> getIncidentPage(Long userId, String userRole, TimeWindow window,
+                                                         String cursor, int size) {
+        IncidentCursor position = IncidentCursor.decode(cursor);
+        List<Long> reporterIds = visibleReporterIds(userId, userRole);
+        if (reporterIds != null && reporterIds.isEmpty()) {
+            return new IncidentPage<>(Collections.emptyList(), null);
+        }
+
+        // Fetch one extra row to learn whether another page exists without a count query.
+        int limit = size + 1;
+        List<IncidentSummary> rows = reporterIds == null
+                ? incidentRepository.findPageBefore(position.occurredAt(), position.id(), window.from(), window.to(), limit)
+                : incidentRepository.findPageByReportedByInBefore(reporterIds, position.occurredAt(), position.id(),
+                        window.from(), window.to(), limit);
+
+        if (rows.size() <= size) {
+            return new IncidentPage<>(rows, null);
+        }
+        List<IncidentSummary> items = rows.subList(0, size);
+        return new IncidentPage<>(items, IncidentCursor.after(items.get(size - 1)).encode());
+    }
+
+    /**
+     * Ranked full-text search over title and description. The cursor is the offset of the next page.
+     */
+    @Transactional(readOnly = true)
+    public IncidentPage<IncidentSearchResult> searchIncidents(Long userId, String userRole, String query,
+                                                              String cursor, int size) {
+        if (query == null || query.isBlank()) {
+            throw new IncidentServiceException("Search query must not be empty", "INVALID_QUERY");
+        }
+        int offset = parseSearchOffset(cursor);
+        List<Long> reporterIds = visibleReporterIds(userId, userRole);
+        if (reporterIds != null && reporterIds.isEmpty()) {
+            return new IncidentPage<>(Collections.emptyList(), null);
+        }
+
+        int limit = size + 1;
+        List<IncidentSearchResult> rows = reporterIds == null
+                ? incidentRepository.search(query, offset, limit)
+                : incidentRepository.searchByReportedByIn(query, reporterIds, offset, limit);
+
+        if (rows.size() <= size || offset + size >= MAX_SEARCH_OFFSET) {
+            return new IncidentPage<>(rows.subList(0, Math.min(size, rows.size())), null);
+        }
+        return new IncidentPage<>(rows.subList(0, size), String.valueOf(offset + size));
+    }
+
+    private int parseSearchOffset(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0;
+        }
+        try {
+            int offset = Integer.parseInt(cursor);
+            if (offset >= 0 && offset < MAX_SEARCH_OFFSET) {
+                return offset;
             }
-            case "OFFICER" -> incidentRepository.findByReportedBy(userId);
-            default -> Collections.emptyList();
-        };
+        } catch (NumberFormatException e) {
+            // fall through
+        }
+        throw new IncidentServiceException("Invalid search cursor", "INVALID_CURSOR");
+    }
+
+    /**
+     * Streams every incident visible to the caller through a forward-only cursor. Rows are projections,
+     * not managed entities, so the persistence context does not grow with the result.
+     */
+    @Transactional(readOnly = true)
+    public void streamIncidents(Long userId, String userRole, TimeWindow window, Consumer<IncidentSummary> consumer) {
+        List<Long> reporterIds = visibleReporterIds(userId, userRole);
+        if (reporterIds != null && reporterIds.isEmpty()) {
+            return;
+        }
+        try (Stream<IncidentSummary> incidents = reporterIds == null
+                ? incidentRepository.streamAllSummaries(window.from(), window.to())
+                : incidentRepository.streamSummariesByReportedByIn(reporterIds, window.from(), window.to())) {
+            incidents.forEach(consumer);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<IncidentSummary> findIncidentsWithin(Long userId, String userRole, BoundingBox box, int limit) {
+        List<Long> reporterIds = visibleReporterIds(userId, userRole);
+        if (reporterIds == null) {
+            return incidentRepository.findWithinEnvelope(box.minLon(), box.minLat(), box.maxLon(), box.maxLat(), limit);
+        }
+        return reporterIds.isEmpty() ? Collections.emptyList()
+                : incidentRepository.findWithinEnvelopeByReportedByIn(
+                        box.minLon(), box.minLat(), box.maxLon(), box.maxLat(), reporterIds, limit);
+    }
+
+    /**
+     * Clusters the incidents in a viewport into a square grid whose cell size follows the web-map zoom
+     * level, so the response holds at most a few hundred cells whatever the number of incidents.
+     */
+    @Transactional(readOnly = true)
+    public List<IncidentCluster> clusterIncidents(Long userId, String userRole, BoundingBox box, int zoom) {
+        // A 256px web-mercator tile spans 360 / 2^zoom degrees of longitude; use CLUSTER_CELLS_PER_TILE cells per tile.
+        double cellDegrees = 360.0 / (1L << zoom) / CLUSTER_CELLS_PER_TILE;
+        double cells = Math.ceil((box.maxLon() - box.minLon()) / cellDegrees) * Math.ceil((box.maxLat() - box.minLat()) / cellDegrees);
+        if (cells > MAX_CLUSTER_CELLS) {
+            throw new IncidentServiceException("Viewport is too large for zoom " + zoom, "VIEWPORT_TOO_LARGE");
+        }
+        List<Long> reporterIds = visibleReporterIds(userId, userRole);
+        if (reporterIds == null) {
+            return incidentRepository.clusterWithinEnvelope(box.minLon(), box.minLat(), box.maxLon(), box.maxLat(), cellDegrees);
+        }
+        return reporterIds.isEmpty() ? Collections.emptyList()
+                : incidentRepository.clusterWithinEnvelopeByReportedByIn(
+                        box.minLon(), box.minLat(), box.maxLon(), box.maxLat(), cellDegrees, reporterIds);
+    }
+
+    /**
+     * Incidents within {@code radiusMeters} of the given point, nearest first.
+     */
+    @Transactional(readOnly = true)
+    public List<IncidentSummary> findIncidentsNear(Long userId, String userRole, double latitude, double longitude,
+                                            double radiusMeters, int limit) {
+        List<Long> reporterIds = visibleReporterIds(userId, userRole);
+        if (reporterIds == null) {
+            return incidentRepository.findNear(latitude, longitude, radiusMeters, limit);
+        }
+        return reporterIds.isEmpty() ? Collections.emptyList()
+                : incidentRepository.findNearByReportedByIn(latitude, longitude, radiusMeters, reporterIds, limit);
     }
 
     @Transactional(readOnly = true)
@@ -57,11 +229,133 @@ public class IncidentService {
         return incidentRepository.findById(id);
     }
 
+    public Optional<IncidentVersion> getIncidentVersion(Long id) {
+        return incidentRepository.findVersionById(id);
+    }
+
+    /**
+     * Incident counts grouped by one rollup dimension, over the incidents visible to the caller.
+     */
+    public List<IncidentCount> countIncidents(Long userId, String userRole, IncidentRollups.Dimension dimension,
+                                              TimeWindow window) {
+        List<Long> reporterIds = visibleReporterIds(userId, userRole);
+        if (reporterIds != null && reporterIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return rollups.counts(dimension, window, reporterIds);
+    }
+
+    /**
+     * Token that changes whenever the incidents visible to the caller may have changed: the summed change
+     * counters of the caller's scope, plus the scope itself so a station's membership change shows up.
+     */
+    @Transactional(readOnly = true)
+    public String getListVersion(Long userId, String userRole) {
+        List<Long> reporterIds = visibleReporterIds(userId, userRole);
+        if (reporterIds == null) {
+            return "all-" + listVersions.version(null);
+        }
+        if (reporterIds.isEmpty()) {
+            return "none";
+        }
+        return Integer.toHexString(reporterIds.hashCode()) + "-" + listVersions.version(reporterIds);
+    }
+
     @Transactional
     public Incident createIncident(IncidentCreateRequest request, Long reporterId, String reporterRole) {
         Point point = geometryFactory.createPoint(new Coordinate(request.getLongitude(), request.getLatitude()));
         validatePointInBoundary(reporterId, reporterRole, point);
+        Incident saved = incidentRepository.save(toIncident(request, point, reporterId));
+        outbox.record(IncidentChangeEvent.CREATED, saved);
+        rollups.added(List.of(saved));
+        duplicates.registerAfterCommit(List.of(saved));
+        return saved;
+    }
+
+    /**
+     * Creates many incidents for one reporter: a single boundary check for the whole batch, then
+     * JDBC-batched inserts flushed every {@code hibernate.jdbc.batch_size} rows. Items that are
+     * malformed or out of bounds are rejected individually; the rest are stored.
+     */
+    @Transactional
+    public List<IncidentBatchResult> createIncidents(List<IncidentCreateRequest> requests, Long reporterId, String reporterRole) {
+        IncidentBatchResult[] results = new IncidentBatchResult[requests.size()];
+        List<Integer> candidates = new ArrayList<>(requests.size());
+        List<PointValidationRequest> points = new ArrayList<>(requests.size());
+
+        for (int i = 0; i < requests.size(); i++) {
+            IncidentCreateRequest request = requests.get(i);
+            String problem = describeInvalid(request);
+            if (problem != null) {
+                results[i] = IncidentBatchResult.rejected(i, problem);
+                continue;
+            }
+            candidates.add(i);
+            points.add(new PointValidationRequest(reporterId, request.getLatitude(), request.getLongitude(), reporterRole));
+        }
+
+        List<Boolean> inBoundary = points.isEmpty() ? Collections.emptyList() : validatePointsInBoundary(reporterRole, points);
+
+        List<Incident> pending = new ArrayList<>(jdbcBatchSize);
+        List<Integer> pendingIndexes = new ArrayList<>(jdbcBatchSize);
+        for (int c = 0; c < candidates.size(); c++) {
+            int index = candidates.get(c);
+            if (!inBoundary.get(c)) {
+                results[index] = IncidentBatchResult.rejected(index, "Incident location is outside the user's assigned boundary.");
+                continue;
+            }
+            IncidentCreateRequest request = requests.get(index);
+            Point point = geometryFactory.createPoint(new Coordinate(request.getLongitude(), request.getLatitude()));
+            pending.add(toIncident(request, point, reporterId));
+            pendingIndexes.add(index);
+            if (pending.size() == jdbcBatchSize) {
+                flushBatch(pending, pendingIndexes, results);
+            }
+        }
+        flushBatch(pending, pendingIndexes, results);
+        return List.of(results);
+    }
+
+    private void flushBatch(List<Incident> pending, List<Integer> pendingIndexes, IncidentBatchResult[] results) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Incident> saved = incidentRepository.saveAll(pending);
+        for (int i = 0; i < saved.size(); i++) {
+            int index = pendingIndexes.get(i);
+            results[index] = IncidentBatchResult.created(index, saved.get(i).getId());
+            outbox.record(IncidentChangeEvent.CREATED, saved.get(i));
+        }
+        rollups.added(saved);
+        duplicates.registerAfterCommit(saved);
+        incidentRepository.flush();
+        // Keep the persistence context from growing with the batch.
+        entityManager.clear();
+        pending.clear();
+        pendingIndexes.clear();
+    }
+
+    /**
+     * Field-level checks that need no other service; returns the first problem, or {@code null} if none.
+     */
+    public String describeInvalid(IncidentCreateRequest request) {
+        if (request == null) {
+            return "Incident is empty.";
+        }
+        if (request.getTitle() == null || request.getTitle().isBlank()) {
+            return "Title is required.";
+        }
+        if (request.getPriority() == null || request.getPriority().isBlank()) {
+            return "Priority is required.";
+        }
+        if (request.getLatitude() < -90 || request.getLatitude() > 90
+                || request.getLongitude() < -180 || request.getLongitude() > 180) {
+            return "Coordinates are outside WGS84 bounds.";
+        }
+        return null;
+    }
 
+    private Incident toIncident(IncidentCreateRequest request, Point point, Long reporterId) {
         Incident incident = new Incident();
         incident.setTitle(request.getTitle());
         incident.setDescription(request.getDescription());
@@ -69,9 +363,9 @@ public class IncidentService {
         incident.setPriority(request.getPriority());
         incident.setLocation(point);
         incident.setReportedBy(reporterId);
+        incident.setDuplicateOf(duplicates.findDuplicate(request.getIncidentType(), request.getLatitude(), request.getLongitude()));
         // occurredAt is set by @CreationTimestamp
-
-        return incidentRepository.save(incident);
+        return incident;
     }
 
     @Transactional
@@ -84,13 +378,22 @@ public class IncidentService {
             // If boundary validation is needed on update, the role would be required.
             // validatePointInBoundary(incident.getReportedBy(), "UNKNOWN", point);
 
+            Incident before = new Incident();
+            before.setIncidentType(incident.getIncidentType());
+            before.setPriority(incident.getPriority());
+            before.setReportedBy(incident.getReportedBy());
+            before.setOccurredAt(incident.getOccurredAt());
+
             incident.setTitle(request.getTitle());
             incident.setDescription(request.getDescription());
             incident.setIncidentType(request.getIncidentType());
             incident.setPriority(request.getPriority());
             incident.setLocation(point);
 
-            return incidentRepository.save(incident);
+            Incident saved = incidentRepository.save(incident);
+            outbox.record(IncidentChangeEvent.UPDATED, saved);
+            rollups.changed(before, saved);
+            return saved;
         });
     }
 
@@ -99,35 +402,80 @@ public class IncidentService {
         Incident incident = incidentRepository.findById(id)
                 .orElseThrow(() -> new IncidentServiceException("Incident not found with id: " + id, "INCIDENT_NOT_FOUND"));
         validateUserPermission(userId, incident, "delete");
+        outbox.record(IncidentChangeEvent.DELETED, incident);
+        rollups.removed(incident);
         incidentRepository.delete(incident);
     }
 
+    /**
+     * Reporter ids whose incidents the caller may see, or {@code null} when the caller may see every incident.
+     */
+    List<Long> visibleReporterIds(Long userId, String userRole) {
+        return switch (userRole) {
+            case "SUPER_USER" -> null;
+            case "POLICE_STATION" -> {
+                List<Long> userIds = membershipCache.officersOf(userId).toList();
+                userIds.add(userId);
+                yield userIds;
+            }
+            case "OFFICER" -> List.of(userId);
+            default -> Collections.emptyList();
+        };
+    }
+
     private void validatePointInBoundary(Long userId, String userRole, Point point) {
+        if (boundaryCacheEnabled) {
+            if (!"SUPER_USER".equals(userRole) && !boundaryCache.contains(userId, point)) {
+                throw new IncidentServiceException("Incident location is outside the user's assigned boundary.", "LOCATION_OUT_OF_BOUNDS");
+            }
+            return;
+        }
+
         PointValidationRequest validationRequest = new PointValidationRequest(
                 userId,
                 point.getY(), // latitude
                 point.getX(), // longitude
                 userRole
         );
-        ResponseEntity<Boolean> validationResponse = geoServiceClient.validatePointInBoundary(validationRequest);
-
-        if (validationResponse.getBody() == null || !validationResponse.getBody()) {
+        if (!Futures.join(geoServiceClient.validatePointInBoundary(validationRequest))) {
             throw new IncidentServiceException("Incident location is outside the user's assigned boundary.", "LOCATION_OUT_OF_BOUNDS");
         }
     }
 
+    private List<Boolean> validatePointsInBoundary(String userRole, List<PointValidationRequest> points) {
+        // Geographic service does not confine SUPER_USER; skip the round-trip entirely.
+        if ("SUPER_USER".equals(userRole)) {
+            return Collections.nCopies(points.size(), true);
+        }
+        if (boundaryCacheEnabled) {
+            return points.stream()
+                    .map(p -> boundaryCache.contains(p.getUserId(),
+                            geometryFactory.createPoint(new Coordinate(p.getLongitude(), p.getLatitude()))))
+                    .toList();
+        }
+        List<Boolean> results = Futures.join(geoServiceClient.validatePointsInBoundaries(points));
+        if (results == null || results.size() != points.size()) {
+            throw new IncidentServiceException("Boundary validation returned an unexpected result.", "BOUNDARY_VALIDATION_FAILED");
+        }
+        return results;
+    }
+
     private void validateUserPermission(Long userId, Incident incident, String action) {
-        UserResponse user = Optional.ofNullable(userServiceClient.getUserById(userId))
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+        if (incident.getReportedBy().equals(userId)) return;
 
-        String userRole = user.role();
+        // The officer list is only needed for stations. With the role cached, ask for it only then; with the
+        // role still loading, start both lookups so a cold cache costs one round-trip instead of two.
+        CompletableFuture<String> role = membershipCache.roleOfAsync(userId);
+        CompletableFuture<LongSet> officers = role.isDone() ? null : membershipCache.officersOfAsync(userId);
+        String userRole = Futures.join(role);
 
         if ("SUPER_USER".equals(userRole)) return;
-        if (incident.getReportedBy().equals(userId)) return;
 
         if ("POLICE_STATION".equals(userRole)) {
-            List<Long> officerIds = userServiceClient.getOfficerIdsByStation(userId);
-            if (officerIds.contains(incident.getReportedBy())) return;
+            if (officers == null) {
+                officers = membershipCache.officersOfAsync(userId);
+            }
+            if (Futures.join(officers).contains(incident.getReportedBy())) return;
         }
 
         throw new IncidentServiceException("User does not have permission to " + action + " this incident.", "INSUFFICIENT_PERMISSIONS");
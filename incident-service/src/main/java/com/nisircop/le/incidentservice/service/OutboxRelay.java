@@ -0,0 +1,97 @@
+package com.nisircop.le.incidentservice.service;
+
+import com.nisircop.le.incidentservice.event.IncidentChangeEvent;
+import com.nisircop.le.incidentservice.event.IncidentEventSink;
+import com.nisircop.le.incidentservice.model.IncidentOutboxEvent;
+import com.nisircop.le.incidentservice.repository.IncidentOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Drains the outbox in id order and hands each batch to every {@link IncidentEventSink}. Rows are locked
+ * with SKIP LOCKED and only marked published once all sinks accept the batch, so delivery is at-least-once
+ * and safe to run on several instances: each event reaches the sinks through exactly one of them. Live SSE
+ * subscribers, which every instance must serve, are fed by {@code IncidentChangeFeed} instead.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final IncidentOutboxRepository outboxRepository;
+    private final List<IncidentEventSink> sinks;
+    private final IncidentOutbox outbox;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration retention;
+
+    public OutboxRelay(IncidentOutboxRepository outboxRepository,
+                       ObjectProvider<IncidentEventSink> sinks,
+                       IncidentOutbox outbox,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${incident.outbox.batch-size:500}") int batchSize,
+                       @Value("${incident.outbox.retention:7d}") Duration retention) {
+        this.outboxRepository = outboxRepository;
+        this.sinks = sinks.orderedStream().toList(); // may be none: then events are only marked published
+        this.outbox = outbox;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.retention = retention;
+        logger.info("Outbox relay publishing to {} sink(s)", this.sinks.size());
+    }
+
+    @Scheduled(fixedDelayString = "${incident.outbox.relay-interval-ms:500}")
+    public void relay() {
+        try {
+            // Keep draining while full batches come back so a backlog clears between ticks.
+            Integer relayed;
+            do {
+                relayed = transactionTemplate.execute(status -> relayBatch());
+            } while (relayed != null && relayed == batchSize);
+        } catch (RuntimeException e) {
+            logger.warn("Outbox relay failed, batch will be retried: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${incident.outbox.purge-cron:0 15 * * * *}")
+    public void purgePublished() {
+        Integer purged = transactionTemplate.execute(status ->
+                outboxRepository.deletePublishedBefore(LocalDateTime.now().minus(retention)));
+        if (purged != null && purged > 0) {
+            logger.info("Purged {} published outbox events", purged);
+        }
+    }
+
+    private int relayBatch() {
+        List<IncidentOutboxEvent> rows = outboxRepository.lockUnpublished(batchSize);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        List<IncidentChangeEvent> events = new ArrayList<>(rows.size());
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (IncidentOutboxEvent row : rows) {
+            events.add(outbox.decode(row));
+            ids.add(row.getId());
+        }
+        for (IncidentEventSink sink : sinks) {
+            try {
+                sink.publish(events);
+            } catch (Exception e) {
+                throw new IllegalStateException(sink.getClass().getSimpleName() + " rejected batch: " + e.getMessage(), e);
+            }
+        }
+        outboxRepository.markPublished(ids, LocalDateTime.now());
+        return rows.size();
+    }
+}
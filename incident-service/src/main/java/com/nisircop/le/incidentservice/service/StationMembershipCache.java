@@ -0,0 +1,95 @@
+package com.nisircop.le.incidentservice.service;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nisircop.le.incidentservice.client.AsyncUserServiceClient;
+import com.nisircop.le.incidentservice.exception.IncidentServiceException;
+import com.nisircop.le.incidentservice.util.Futures;
+import com.nisircop.le.incidentservice.util.LongSet;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * In-process view of user-service data needed for scoping and permission checks: the officers each
+ * station created, and each user's role. Entries are refreshed in the background once older than the
+ * refresh interval, so hot keys never block on user-service; user-service also invalidates them explicitly
+ * when it changes a user. Hit/miss counts are published as the {@code cache.*} meters.
+ * <p>
+ * Loads and refreshes run in the user-service bulkhead, outside the cache's map lock, so callers on
+ * virtual threads never pin a carrier while user-service answers. The async accessors let callers
+ * start several lookups at once.
+ */
+@Component
+public class StationMembershipCache {
+
+    private final AsyncUserServiceClient userServiceClient;
+    private final AsyncLoadingCache<Long, LongSet> officersByStation;
+    private final AsyncLoadingCache<Long, String> rolesByUser;
+
+    public StationMembershipCache(AsyncUserServiceClient userServiceClient,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${incident.membership-cache.max-size:10000}") long maxSize,
+                                  @Value("${incident.membership-cache.refresh:1m}") Duration refresh,
+                                  @Value("${incident.membership-cache.ttl:10m}") Duration ttl) {
+        this.userServiceClient = userServiceClient;
+        this.officersByStation = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .refreshAfterWrite(refresh)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync((stationId, executor) -> userServiceClient.getOfficerIdsByStation(stationId).thenApply(LongSet::of));
+        this.rolesByUser = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .refreshAfterWrite(refresh)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                // A null role completes the load without caching it, so unknown users are asked for again.
+                .buildAsync((userId, executor) -> userServiceClient.getUserById(userId).thenApply(user -> user == null ? null : user.role()));
+        CaffeineCacheMetrics.monitor(meterRegistry, officersByStation, "station-officers");
+        CaffeineCacheMetrics.monitor(meterRegistry, rolesByUser, "user-roles");
+    }
+
+    public LongSet officersOf(Long stationId) {
+        return Futures.join(officersOfAsync(stationId));
+    }
+
+    public CompletableFuture<LongSet> officersOfAsync(Long stationId) {
+        return officersByStation.get(stationId);
+    }
+
+    public boolean isOfficerOf(Long stationId, Long officerId) {
+        return officersOf(stationId).contains(officerId);
+    }
+
+    public String roleOf(Long userId) {
+        return Futures.join(roleOfAsync(userId));
+    }
+
+    /** Completes with USER_NOT_FOUND for unknown users. */
+    public CompletableFuture<String> roleOfAsync(Long userId) {
+        return rolesByUser.get(userId).thenApply(role -> {
+            if (role == null) {
+                throw new IncidentServiceException("User not found with id: " + userId, "USER_NOT_FOUND");
+            }
+            return role;
+        });
+    }
+
+    public void invalidateStation(Long stationId) {
+        officersByStation.synchronous().invalidate(stationId);
+    }
+
+    public void invalidateUser(Long userId) {
+        rolesByUser.synchronous().invalidate(userId);
+    }
+
+    public void invalidateAll() {
+        officersByStation.synchronous().invalidateAll();
+        rolesByUser.synchronous().invalidateAll();
+    }
+}
@@ -0,0 +1,45 @@
+package com.nisircop.le.incidentservice.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Immutable set of primitive longs backed by a sorted array. Membership is a binary search with no boxing,
+ * and the footprint is eight bytes per element.
+ */
+public final class LongSet {
+
+    private static final LongSet EMPTY = new LongSet(new long[0]);
+
+    private final long[] values;
+
+    private LongSet(long[] sortedDistinct) {
+        this.values = sortedDistinct;
+    }
+
+    public static LongSet of(Collection<Long> values) {
+        if (values == null || values.isEmpty()) {
+            return EMPTY;
+        }
+        long[] sorted = values.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+        return new LongSet(sorted);
+    }
+
+    public boolean contains(long value) {
+        return Arrays.binarySearch(values, value) >= 0;
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    public List<Long> toList() {
+        List<Long> list = new ArrayList<>(values.length + 1);
+        for (long value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+}
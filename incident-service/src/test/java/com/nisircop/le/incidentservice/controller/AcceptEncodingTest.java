@@ -0,0 +1,43 @@
+package com.nisircop.le.incidentservice.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The export is only gzipped when the client's Accept-Encoding gives gzip a q-value above zero.
+ */
+class AcceptEncodingTest {
+
+    @Test
+    void acceptsListedGzip() {
+        assertTrue(IncidentController.acceptsGzip("gzip"));
+        assertTrue(IncidentController.acceptsGzip("deflate, gzip;q=0.5, br"));
+        assertTrue(IncidentController.acceptsGzip("x-gzip"));
+        assertTrue(IncidentController.acceptsGzip("GZIP ; Q=1.0"));
+    }
+
+    @Test
+    void refusesZeroQuality() {
+        assertFalse(IncidentController.acceptsGzip("gzip;q=0"));
+        assertFalse(IncidentController.acceptsGzip("gzip;q=0.000, identity"));
+        assertFalse(IncidentController.acceptsGzip("gzip;q=abc"));
+    }
+
+    @Test
+    void wildcardAppliesOnlyWhenGzipIsNotListed() {
+        assertTrue(IncidentController.acceptsGzip("*"));
+        assertFalse(IncidentController.acceptsGzip("*;q=0"));
+        assertFalse(IncidentController.acceptsGzip("gzip;q=0, *"));
+        assertTrue(IncidentController.acceptsGzip("gzip, *;q=0"));
+    }
+
+    @Test
+    void refusesMissingOrOtherCodings() {
+        assertFalse(IncidentController.acceptsGzip(null));
+        assertFalse(IncidentController.acceptsGzip(""));
+        assertFalse(IncidentController.acceptsGzip("br, deflate"));
+        assertFalse(IncidentController.acceptsGzip("gzipx"));
+    }
+}
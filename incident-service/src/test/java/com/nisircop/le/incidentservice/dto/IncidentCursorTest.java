@@ -0,0 +1,55 @@
+package com.nisircop.le.incidentservice.dto;
+
+import com.nisircop.le.incidentservice.exception.IncidentServiceException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cursors must survive a round trip through a URL unchanged, start at {@link IncidentCursor#FIRST} when
+ * absent, and reject anything that was not produced by {@link IncidentCursor#encode()} as INVALID_CURSOR.
+ */
+class IncidentCursorTest {
+
+    @Test
+    void roundTrips() {
+        IncidentCursor cursor = new IncidentCursor(LocalDateTime.of(2024, 5, 1, 8, 30, 15, 123_456_000), 4711L);
+        String token = cursor.encode();
+        assertTrue(token.matches("[A-Za-z0-9_-]+"), token + " is not URL-safe");
+        assertEquals(cursor, IncidentCursor.decode(token));
+    }
+
+    @Test
+    void roundTripsFirst() {
+        assertEquals(IncidentCursor.FIRST, IncidentCursor.decode(IncidentCursor.FIRST.encode()));
+    }
+
+    @Test
+    void missingTokenStartsAtTheFirstPage() {
+        assertEquals(IncidentCursor.FIRST, IncidentCursor.decode(null));
+        assertEquals(IncidentCursor.FIRST, IncidentCursor.decode(" "));
+    }
+
+    @Test
+    void rejectsForeignTokens() {
+        assertInvalid("not base64!");
+        assertInvalid(encode("2024-05-01T08:30"));
+        assertInvalid(encode("2024-05-01T08:30|abc"));
+        assertInvalid(encode("yesterday|42"));
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void assertInvalid(String token) {
+        IncidentServiceException e = assertThrows(IncidentServiceException.class, () -> IncidentCursor.decode(token));
+        assertEquals("INVALID_CURSOR", e.getErrorCode());
+    }
+}
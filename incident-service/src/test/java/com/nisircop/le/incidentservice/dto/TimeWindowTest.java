@@ -0,0 +1,61 @@
+package com.nisircop.le.incidentservice.dto;
+
+import com.nisircop.le.incidentservice.exception.IncidentServiceException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Bounds may be dates, date-times or durations back from now; open ends become the {@link TimeWindow#ALL}
+ * sentinels so every query stays bounded, and anything else is rejected as INVALID_TIME_WINDOW.
+ */
+class TimeWindowTest {
+
+    @Test
+    void parsesDatesAndDateTimes() {
+        TimeWindow window = TimeWindow.parse("2024-05-01", " 2024-05-02T08:30 ");
+        assertEquals(LocalDateTime.of(2024, 5, 1, 0, 0), window.from());
+        assertEquals(LocalDateTime.of(2024, 5, 2, 8, 30), window.to());
+    }
+
+    @Test
+    void openEndsUseTheSentinels() {
+        assertEquals(TimeWindow.ALL, TimeWindow.parse(null, ""));
+        assertEquals(TimeWindow.ALL.to(), TimeWindow.parse("2024-05-01", null).to());
+        assertEquals(TimeWindow.ALL.from(), TimeWindow.parse(" ", "2024-05-01").from());
+    }
+
+    @Test
+    void durationsCountBackFromNow() {
+        LocalDateTime before = LocalDateTime.now();
+        TimeWindow window = TimeWindow.parse("PT24H", "P0D");
+        LocalDateTime after = LocalDateTime.now();
+
+        assertFalse(window.from().isBefore(before.minusHours(24)));
+        assertFalse(window.from().isAfter(after.minusHours(24)));
+        assertEquals(Duration.ofHours(24), Duration.between(window.from(), window.to()));
+        assertTrue(TimeWindow.isRelative(" P7D"));
+        assertFalse(TimeWindow.isRelative("2024-05-01"));
+        assertFalse(TimeWindow.isRelative(null));
+    }
+
+    @Test
+    void rejectsEmptyAndInvalidWindows() {
+        assertInvalid("2024-05-02", "2024-05-01");
+        assertInvalid("2024-05-01", "2024-05-01");
+        assertInvalid("yesterday", null);
+        assertInvalid(null, "2024-13-01");
+        assertInvalid("P1X", null);
+    }
+
+    private static void assertInvalid(String from, String to) {
+        IncidentServiceException e = assertThrows(IncidentServiceException.class, () -> TimeWindow.parse(from, to));
+        assertEquals("INVALID_TIME_WINDOW", e.getErrorCode());
+    }
+}
@@ -0,0 +1,49 @@
+package com.nisircop.le.incidentservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Free-text export fields follow RFC 4180 quoting, and text a spreadsheet would evaluate as a formula is
+ * prefixed with an apostrophe.
+ */
+class CsvEscapingTest {
+
+    @Test
+    void plainTextIsWrittenAsIs() throws IOException {
+        assertEquals("Car fire on Bole Road", csv("Car fire on Bole Road"));
+        assertEquals("", csv(""));
+        assertEquals("", csv(null));
+    }
+
+    @Test
+    void delimitersQuotesAndLineBreaksAreQuoted() throws IOException {
+        assertEquals("\"Bole, Addis Ababa\"", csv("Bole, Addis Ababa"));
+        assertEquals("\"the \"\"red\"\" car\"", csv("the \"red\" car"));
+        assertEquals("\"two\nlines\"", csv("two\nlines"));
+        assertEquals("\"two\r\nlines\"", csv("two\r\nlines"));
+    }
+
+    @Test
+    void formulasAreDefused() throws IOException {
+        assertEquals("'=1+1", csv("=1+1"));
+        assertEquals("\"'=HYPERLINK(\"\"x\"\")\"", csv("=HYPERLINK(\"x\")"));
+        assertEquals("'+1", csv("+1"));
+        assertEquals("'-1", csv("-1"));
+        assertEquals("'@SUM(A1)", csv("@SUM(A1)"));
+        assertEquals("'\tx", csv("\tx"));
+        assertEquals("\"'\rx\"", csv("\rx"));
+        assertEquals("\"'=1,2\"", csv("=1,2"));
+        assertEquals("a=b", csv("a=b"));
+    }
+
+    private static String csv(String value) throws IOException {
+        StringWriter writer = new StringWriter();
+        IncidentExporter.writeCsvText(writer, value);
+        return writer.toString();
+    }
+}
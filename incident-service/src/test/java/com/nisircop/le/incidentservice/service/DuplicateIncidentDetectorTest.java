@@ -0,0 +1,151 @@
+package com.nisircop.le.incidentservice.service;
+
+import com.nisircop.le.incidentservice.model.Incident;
+import com.nisircop.le.incidentservice.repository.IncidentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.PrecisionModel;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Lookups must find the nearest recent report of the same type within the radius wherever it falls in the
+ * cell grid, ignore anything older than the window, link to the first report of an event, and stay cheap.
+ */
+class DuplicateIncidentDetectorTest {
+
+    private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory(new PrecisionModel(), 4326);
+    private static final double RADIUS_METERS = 150;
+    private static final double METERS_PER_DEGREE = 111_320;
+    private static final double LAT = 9.03;
+    private static final double LON = 38.74;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DuplicateIncidentDetector detector = detector(true);
+
+    @Test
+    void findsNearestReportOfTheSameType() {
+        register(1, "FIRE", LAT + north(100), LON);
+        register(2, "FIRE", LAT + north(50), LON);
+        register(3, "THEFT", LAT, LON);
+
+        assertEquals(2L, detector.findDuplicate("FIRE", LAT, LON));
+        assertEquals(3L, detector.findDuplicate("THEFT", LAT, LON));
+        assertNull(detector.findDuplicate("FLOOD", LAT, LON));
+        assertNull(detector.findDuplicate("FIRE", LAT - north(110), LON), "both are over 150m away");
+        assertEquals(2.0, meterRegistry.get("incident.duplicates.detected").counter().count());
+    }
+
+    @Test
+    void findsMatchesInNeighbouringCells() {
+        // Just either side of a row line, so the match sits in the next cell up.
+        double cellDegrees = RADIUS_METERS / METERS_PER_DEGREE;
+        double rowLine = Math.ceil((LAT + 90) / cellDegrees) * cellDegrees - 90;
+        register(1, "FIRE", rowLine + north(5), LON);
+        assertEquals(1L, detector.findDuplicate("FIRE", rowLine - north(5), LON));
+
+        // Far from the equator the radius spans several longitude cells; 140m east at 70N is almost three.
+        double metersPerLonDegree = METERS_PER_DEGREE * Math.cos(Math.toRadians(70));
+        register(2, "FIRE", 70, 20);
+        assertEquals(2L, detector.findDuplicate("FIRE", 70, 20 + 140 / metersPerLonDegree));
+        assertNull(detector.findDuplicate("FIRE", 70, 20 + 160 / metersPerLonDegree));
+    }
+
+    @Test
+    void ignoresReportsOlderThanTheWindow() {
+        register(1, "FIRE", LAT, LON, LocalDateTime.now().minusMinutes(11), null);
+        assertNull(detector.findDuplicate("FIRE", LAT, LON));
+
+        register(2, "FIRE", LAT, LON, LocalDateTime.now().minusMinutes(9), null);
+        assertEquals(2L, detector.findDuplicate("FIRE", LAT, LON));
+
+        detector.sweep();
+        assertEquals(1.0, meterRegistry.get("incident.duplicates.window.size").gauge().value());
+    }
+
+    @Test
+    void linksLaterReportsToTheFirstOne() {
+        // The second report was linked to the first; a third next to the second (but out of reach of the
+        // first) still links to the first.
+        register(1, "FIRE", LAT, LON);
+        register(2, "FIRE", LAT + north(140), LON, LocalDateTime.now(), 1L);
+        assertEquals(1L, detector.findDuplicate("FIRE", LAT + north(280), LON));
+    }
+
+    @Test
+    void disabledDetectorFindsNothing() {
+        DuplicateIncidentDetector disabled = detector(false);
+        disabled.registerAfterCommit(List.of(incident(1, "FIRE", LAT, LON, LocalDateTime.now(), null)));
+        assertNull(disabled.findDuplicate("FIRE", LAT, LON));
+    }
+
+    @Test
+    void lookupTakesMicroseconds() {
+        // A busy window: 20,000 reports of five types over a city-sized area.
+        Random random = new Random(42);
+        String[] types = {"FIRE", "THEFT", "ACCIDENT", "ASSAULT", "FLOOD"};
+        List<Incident> recent = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            recent.add(incident(i, types[i % types.length], LAT + random.nextDouble() * 0.1,
+                    LON + random.nextDouble() * 0.1, LocalDateTime.now(), null));
+        }
+        detector.registerAfterCommit(recent);
+
+        int lookups = 100_000;
+        double[][] points = new double[lookups][];
+        for (int i = 0; i < lookups; i++) {
+            points[i] = new double[]{LAT + random.nextDouble() * 0.1, LON + random.nextDouble() * 0.1};
+        }
+        for (double[] point : points) {
+            detector.findDuplicate("FIRE", point[0], point[1]);
+        }
+        long start = System.nanoTime();
+        for (double[] point : points) {
+            detector.findDuplicate("FIRE", point[0], point[1]);
+        }
+        double micros = (System.nanoTime() - start) / 1000.0 / lookups;
+        // A few microseconds on a laptop; the bound leaves room for a loaded CI machine.
+        assertTrue(micros < 25, "average lookup took " + micros + "us");
+    }
+
+    private DuplicateIncidentDetector detector(boolean enabled) {
+        return new DuplicateIncidentDetector(mock(IncidentRepository.class), meterRegistry, enabled,
+                RADIUS_METERS, Duration.ofMinutes(10), 200_000);
+    }
+
+    private void register(long id, String type, double latitude, double longitude) {
+        register(id, type, latitude, longitude, LocalDateTime.now(), null);
+    }
+
+    private void register(long id, String type, double latitude, double longitude, LocalDateTime occurredAt,
+                          Long duplicateOf) {
+        detector.registerAfterCommit(List.of(incident(id, type, latitude, longitude, occurredAt, duplicateOf)));
+    }
+
+    private static Incident incident(long id, String type, double latitude, double longitude,
+                                     LocalDateTime occurredAt, Long duplicateOf) {
+        Incident incident = new Incident();
+        incident.setId(id);
+        incident.setIncidentType(type);
+        incident.setLocation(GEOMETRY_FACTORY.createPoint(new Coordinate(longitude, latitude)));
+        incident.setOccurredAt(occurredAt);
+        incident.setDuplicateOf(duplicateOf);
+        return incident;
+    }
+
+    private static double north(double meters) {
+        return meters / METERS_PER_DEGREE;
+    }
+}
@@ -0,0 +1,80 @@
+#!/bin/bash
+# Benchmark: N single creates vs one batch create against a running Incident Service
+# Talks to the service directly (bypassing the gateway) so only incident/geo/DB cost is measured.
+#
+# Usage: ./scripts/benchmark-incident-batch.sh [count]
+# Environment:
+#   INCIDENT_URL  base URL of the incident service (default http://localhost:8083)
+#   USER_ID       reporter id sent as X-User-Id (default 3, the seeded officer)
+#   USER_ROLE     reporter role sent as X-User-Role (default OFFICER)
+#   CENTER_LAT    latitude inside the reporter's boundary (default 9.0300)
+#   CENTER_LON    longitude inside the reporter's boundary (default 38.7400)
+
+COUNT=${1:-500}
+INCIDENT_URL=${INCIDENT_URL:-http://localhost:8083}
+USER_ID=${USER_ID:-3}
+USER_ROLE=${USER_ROLE:-OFFICER}
+CENTER_LAT=${CENTER_LAT:-9.0300}
+CENTER_LON=${CENTER_LON:-38.7400}
+ENDPOINT="$INCIDENT_URL/api/v1/incidents"
+
+incident_json() {
+    # Spread points over roughly 100m around the centre
+    local i=$1
+    local lat lon
+    lat=$(awk -v c="$CENTER_LAT" -v i="$i" 'BEGIN { printf "%.6f", c + ((i % 10) - 5) * 0.0001 }')
+    lon=$(awk -v c="$CENTER_LON" -v i="$i" 'BEGIN { printf "%.6f", c + ((int(i / 10) % 10) - 5) * 0.0001 }')
+    echo "{\"title\":\"Benchmark incident $i\",\"description\":\"batch benchmark\",\"incidentType\":\"BENCHMARK\",\"priority\":\"LOW\",\"latitude\":$lat,\"longitude\":$lon}"
+}
+
+now_ms() {
+    date +%s%3N
+}
+
+echo "==================================="
+echo "Incident create benchmark ($COUNT incidents)"
+echo "==================================="
+echo "Target: $ENDPOINT as user $USER_ID ($USER_ROLE)"
+echo ""
+
+# Single-create path: one HTTP request, one boundary check and one insert per incident
+start=$(now_ms)
+failures=0
+for ((i = 0; i < COUNT; i++)); do
+    status=$(curl -s -o /dev/null -w "%{http_code}" -X POST "$ENDPOINT" \
+        -H "Content-Type: application/json" \
+        -H "X-User-Id: $USER_ID" -H "X-User-Role: $USER_ROLE" \
+        -d "$(incident_json "$i")")
+    if [ "$status" != "200" ]; then
+        failures=$((failures + 1))
+    fi
+done
+single_ms=$(( $(now_ms) - start ))
+echo "Single creates: ${single_ms} ms total, $(awk -v t="$single_ms" -v n="$COUNT" 'BEGIN { printf "%.2f", t / n }') ms/incident, $failures failed"
+
+# Batch path: one HTTP request, one boundary check and batched inserts
+payload_file=$(mktemp)
+{
+    echo "["
+    for ((i = 0; i < COUNT; i++)); do
+        [ "$i" -gt 0 ] && echo ","
+        incident_json "$i"
+    done
+    echo "]"
+} > "$payload_file"
+
+start=$(now_ms)
+response=$(curl -s -X POST "$ENDPOINT/batch" \
+    -H "Content-Type: application/json" \
+    -H "X-User-Id: $USER_ID" -H "X-User-Role: $USER_ROLE" \
+    --data-binary "@$payload_file")
+batch_ms=$(( $(now_ms) - start ))
+rm -f "$payload_file"
+
+created=$(echo "$response" | grep -o '"status":"CREATED"' | wc -l)
+echo "Batch create:   ${batch_ms} ms total, $(awk -v t="$batch_ms" -v n="$COUNT" 'BEGIN { printf "%.2f", t / n }') ms/incident, $created created"
+
+if [ "$batch_ms" -gt 0 ]; then
+    echo ""
+    echo "Speedup: $(awk -v s="$single_ms" -v b="$batch_ms" 'BEGIN { printf "%.1fx", s / b }')"
+fi
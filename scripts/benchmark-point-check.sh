@@ -0,0 +1,109 @@
+#!/bin/bash
+# Benchmark: point-in-boundary evaluation in PostGIS vs in the JVM vs from the in-memory boundary index
+# Runs the same single-point scenarios against geographic-service directly (bypassing the gateway) and records
+# throughput and latency percentiles per mode, so runs can be compared side by side.
+#
+# Usage (restart geographic-service with GEO_POINT_CHECK_MODE set before each run):
+#   GEO_POINT_CHECK_MODE=database  ->  ./scripts/benchmark-point-check.sh run database
+#   GEO_POINT_CHECK_MODE=jvm       ->  ./scripts/benchmark-point-check.sh run jvm
+#   GEO_POINT_CHECK_MODE=index     ->  ./scripts/benchmark-point-check.sh run index
+#   ./scripts/benchmark-point-check.sh compare database jvm index
+#
+# Requires hey (https://github.com/rakyll/hey).
+# Environment:
+#   GEO_URL       geographic-service base URL (default http://localhost:8084)
+#   USER_ID       user whose boundary is checked (default 3, the seeded officer)
+#   INSIDE_LAT / INSIDE_LON   a point inside that boundary (default 9.0300, 38.7400)
+#   CONCURRENCY   client concurrency (default 50)
+#   DURATION      duration of each step (default 30s)
+#   RESULTS       CSV file results are appended to (default ./point-check-results.csv)
+#
+# The JVM mode reads the profile through Hibernate's second-level cache. To measure the full JDBC transfer and
+# parse instead, also start the service with --spring.jpa.properties.hibernate.cache.use_second_level_cache=false.
+
+GEO_URL=${GEO_URL:-http://localhost:8084}
+USER_ID=${USER_ID:-3}
+INSIDE_LAT=${INSIDE_LAT:-9.0300}
+INSIDE_LON=${INSIDE_LON:-38.7400}
+CONCURRENCY=${CONCURRENCY:-50}
+DURATION=${DURATION:-30s}
+RESULTS=${RESULTS:-./point-check-results.csv}
+
+INSIDE_BODY="{\"userId\":$USER_ID,\"userRole\":\"OFFICER\",\"latitude\":$INSIDE_LAT,\"longitude\":$INSIDE_LON}"
+OUTSIDE_BODY="{\"userId\":$USER_ID,\"userRole\":\"OFFICER\",\"latitude\":0.0,\"longitude\":0.0}"
+
+# scenario|method|url|body
+SCENARIOS=(
+    "validate-inside|POST|$GEO_URL/geo/validate-point|$INSIDE_BODY"
+    "validate-outside|POST|$GEO_URL/geo/validate-point|$OUTSIDE_BODY"
+    "owners|GET|$GEO_URL/geo/owners?lat=$INSIDE_LAT&lon=$INSIDE_LON|"
+)
+
+# Prints "rps p50_ms p99_ms errors" from hey's text report
+parse_hey() {
+    awk '
+        /Requests\/sec:/ { rps = $2 }
+        / 50% in / { p50 = $3 * 1000 }
+        / 99% in / { p99 = $3 * 1000 }
+        /^ *\[[0-9]+\][ \t]+[0-9]+ responses/ { code = substr($1, 2, 3); if (code !~ /^2/) errors += $2 }
+        /^ *\[[0-9]+\][ \t]+(Get|Post)/ { errors += substr($1, 2, length($1) - 2) }
+        END { printf "%.1f %.1f %.1f %d\n", rps, p50, p99, errors }
+    '
+}
+
+run() {
+    local mode=$1
+    if ! command -v hey > /dev/null; then
+        echo "hey is required: go install github.com/rakyll/hey@latest"
+        exit 1
+    fi
+    [ -f "$RESULTS" ] || echo "mode,scenario,rps,p50_ms,p99_ms,errors" > "$RESULTS"
+
+    # Sanity check, and lets the index finish loading before timing starts
+    if [ "$(curl -s -X POST "$GEO_URL/geo/validate-point" -H "Content-Type: application/json" -d "$INSIDE_BODY")" != "true" ]; then
+        echo "($INSIDE_LAT, $INSIDE_LON) is not inside user $USER_ID's boundary; set INSIDE_LAT/INSIDE_LON"
+        exit 1
+    fi
+
+    echo "==================================="
+    echo "Point check benchmark, mode '$mode' (c=$CONCURRENCY, $DURATION per step)"
+    echo "==================================="
+    for scenario in "${SCENARIOS[@]}"; do
+        IFS='|' read -r name method url body <<< "$scenario"
+        args=(-z "$DURATION" -c "$CONCURRENCY" -m "$method" -T "application/json")
+        [ -n "$body" ] && args+=(-d "$body")
+        read -r rps p50 p99 errors <<< "$(hey "${args[@]}" "$url" | parse_hey)"
+        printf "%-18s %10s req/s  p50 %8s ms  p99 %8s ms  errors %s\n" "$name" "$rps" "$p50" "$p99" "$errors"
+        echo "$mode,$name,$rps,$p50,$p99,$errors" >> "$RESULTS"
+    done
+}
+
+compare() {
+    echo "==================================="
+    echo "Point check modes: $*"
+    echo "==================================="
+    awk -F, -v modes="$*" '
+        BEGIN { n = split(modes, order, " ") }
+        NR == 1 { next }
+        { rps[$1 FS $2] = $3; p99[$1 FS $2] = $5; if (!($2 in seen)) { seen[$2] = 1; scenarios[++s] = $2 } }
+        END {
+            printf "%-18s", "scenario"
+            for (m = 1; m <= n; m++) printf " %24s", order[m] " req/s (p99 ms)"
+            printf "\n"
+            for (i = 1; i <= s; i++) {
+                printf "%-18s", scenarios[i]
+                for (m = 1; m <= n; m++) {
+                    key = order[m] FS scenarios[i]
+                    printf " %24s", (key in rps) ? rps[key] " (" p99[key] ")" : "-"
+                }
+                printf "\n"
+            }
+        }
+    ' "$RESULTS"
+}
+
+case "$1" in
+    run) run "${2:?mode required: database, jvm or index}" ;;
+    compare) shift; compare "${@:-database jvm index}" ;;
+    *) echo "Usage: $0 run <mode> | compare [mode...]"; exit 1 ;;
+esac
@@ -0,0 +1,103 @@
+#!/bin/bash
+# Load test: platform-thread vs virtual-thread request handling for the PostgreSQL-backed services
+# Runs the same scenarios against each service directly (bypassing the gateway) and records throughput
+# and latency percentiles, so two runs - one per thread mode - can be compared side by side.
+#
+# Usage:
+#   1. Start the services normally (Java 21 runtime), then: ./scripts/loadtest-virtual-threads.sh run platform
+#   2. Restart them with SPRING_PROFILES_ACTIVE=<profile>,virtual-threads, then:
+#                                                        ./scripts/loadtest-virtual-threads.sh run virtual
+#   3. ./scripts/loadtest-virtual-threads.sh compare platform virtual
+#
+# Requires hey (https://github.com/rakyll/hey).
+# Environment:
+#   INCIDENT_URL / GEO_URL   service base URLs (defaults: localhost 8083/8084)
+#   CONCURRENCY   space-separated client concurrency levels (default "50 200 800")
+#   DURATION      duration of each step (default 30s)
+#   RESULTS       CSV file results are appended to (default ./loadtest-results.csv)
+#
+# To measure the Feign path of incident creation rather than the boundary cache, run incident-service with
+# INCIDENT_BOUNDARY_CACHE_ENABLED=false.
+
+INCIDENT_URL=${INCIDENT_URL:-http://localhost:8083}
+GEO_URL=${GEO_URL:-http://localhost:8084}
+CONCURRENCY=${CONCURRENCY:-"50 200 800"}
+DURATION=${DURATION:-30s}
+RESULTS=${RESULTS:-./loadtest-results.csv}
+
+OFFICER_ID=3
+OFFICER_HEADERS=(-H "X-User-Id: $OFFICER_ID" -H "X-User-Role: OFFICER")
+INCIDENT_BODY='{"title":"Load test incident","description":"virtual thread load test","incidentType":"LOADTEST","priority":"LOW","latitude":9.0300,"longitude":38.7400}'
+POINTS_BODY="[{\"userId\":$OFFICER_ID,\"userRole\":\"OFFICER\",\"latitude\":9.0300,\"longitude\":38.7400},{\"userId\":$OFFICER_ID,\"userRole\":\"OFFICER\",\"latitude\":9.0310,\"longitude\":38.7410}]"
+
+# service|scenario|method|url|body
+SCENARIOS=(
+    "incident-service|list-page|GET|$INCIDENT_URL/api/v1/incidents/page?size=50|"
+    "incident-service|create|POST|$INCIDENT_URL/api/v1/incidents|$INCIDENT_BODY"
+    "geographic-service|validate-points|POST|$GEO_URL/geo/validate-points|$POINTS_BODY"
+)
+
+# Prints "rps p50_ms p99_ms errors" from hey's text report
+parse_hey() {
+    awk '
+        /Requests\/sec:/ { rps = $2 }
+        / 50% in / { p50 = $3 * 1000 }
+        / 99% in / { p99 = $3 * 1000 }
+        # "[503]  12 responses" counts non-2xx answers; "[7]  Post ...: dial tcp ..." counts transport errors
+        /^ *\[[0-9]+\][ \t]+[0-9]+ responses/ { code = substr($1, 2, 3); if (code !~ /^2/) errors += $2 }
+        /^ *\[[0-9]+\][ \t]+(Get|Post)/ { errors += substr($1, 2, length($1) - 2) }
+        END { printf "%.1f %.1f %.1f %d\n", rps, p50, p99, errors }
+    '
+}
+
+run() {
+    local label=$1
+    if ! command -v hey > /dev/null; then
+        echo "hey is required: go install github.com/rakyll/hey@latest"
+        exit 1
+    fi
+    [ -f "$RESULTS" ] || echo "label,service,scenario,concurrency,rps,p50_ms,p99_ms,errors" > "$RESULTS"
+
+    echo "==================================="
+    echo "Load test run '$label' ($DURATION per step)"
+    echo "==================================="
+    for scenario in "${SCENARIOS[@]}"; do
+        IFS='|' read -r service name method url body <<< "$scenario"
+        for c in $CONCURRENCY; do
+            args=(-z "$DURATION" -c "$c" -m "$method" -T "application/json" "${OFFICER_HEADERS[@]}")
+            [ -n "$body" ] && args+=(-d "$body")
+            read -r rps p50 p99 errors <<< "$(hey "${args[@]}" "$url" | parse_hey)"
+            printf "%-20s %-16s c=%-5s %10s req/s  p50 %8s ms  p99 %8s ms  errors %s\n" \
+                "$service" "$name" "$c" "$rps" "$p50" "$p99" "$errors"
+            echo "$label,$service,$name,$c,$rps,$p50,$p99,$errors" >> "$RESULTS"
+        done
+    done
+}
+
+compare() {
+    local base=$1 candidate=$2
+    echo "==================================="
+    echo "$base vs $candidate"
+    echo "==================================="
+    printf "%-20s %-16s %-6s %22s %22s\n" "service" "scenario" "c" "req/s ($base->$candidate)" "p99 ms ($base->$candidate)"
+    awk -F, -v base="$base" -v cand="$candidate" '
+        NR == 1 { next }
+        { key = $2 FS $3 FS $4 }
+        $1 == base { brps[key] = $5; bp99[key] = $7; order[++n] = key }
+        $1 == cand { crps[key] = $5; cp99[key] = $7 }
+        END {
+            for (i = 1; i <= n; i++) {
+                key = order[i]
+                if (!(key in crps)) continue
+                split(key, k, FS)
+                printf "%-20s %-16s %-6s %9s -> %-9s %9s -> %-9s\n", k[1], k[2], k[3], brps[key], crps[key], bp99[key], cp99[key]
+            }
+        }
+    ' "$RESULTS"
+}
+
+case "$1" in
+    run) run "${2:?label required, e.g. platform or virtual}" ;;
+    compare) compare "${2:-platform}" "${3:-virtual}" ;;
+    *) echo "Usage: $0 run <label> | compare [base] [candidate]"; exit 1 ;;
+esac
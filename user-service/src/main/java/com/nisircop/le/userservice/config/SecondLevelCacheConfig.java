@@ -0,0 +1,105 @@
+package com.nisircop.le.userservice.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Hibernate second-level and query cache backed by Caffeine through JCache. Regions are created here, bounded
+ * by size and TTL, instead of from a Caffeine config file; {@code missing_cache_strategy: fail} turns an
+ * {@code @Cache} region without an entry here into a startup error rather than an unbounded cache.
+ * Per-region hits, misses and hit ratio are published as {@code hibernate.l2.*} metrics.
+ *
+ * <p>Regions are per JVM and nothing invalidates them across instances. That is sound here only because
+ * user-service owns its SQLite file and runs as a single instance, so every write passes through this cache.
+ * Services that scale out (incident-service, geographic-service) do not use a second-level cache; this class
+ * is the one to copy if that ever changes, together with a cross-instance eviction.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String USER_REGION = "user";
+    public static final String USER_PROFILE_REGION = "user-profile";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(@Value("${user.l2-cache.max-size:10000}") long maxSize,
+                                              @Value("${user.l2-cache.ttl:30m}") Duration ttl) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("user-service-hibernate"), getClass().getClassLoader());
+        cacheManager.createCache(USER_REGION, region(maxSize, ttl));
+        cacheManager.createCache(USER_PROFILE_REGION, region(maxSize, ttl));
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, region(maxSize, ttl));
+        // Hibernate checks cached query results against these per-table timestamps; they must never be evicted
+        // or expire, or a stale result could be served after a write. One small entry per table.
+        CaffeineConfiguration<Object, Object> timestamps = new CaffeineConfiguration<>();
+        timestamps.setStoreByValue(false);
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, timestamps);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            for (String name : List.of(USER_REGION, USER_PROFILE_REGION)) {
+                register(registry, name, statistics.getDomainDataRegionStatistics(name));
+            }
+            register(registry, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                    statistics.getQueryRegionStatistics(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME));
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        // Hibernate already stores disassembled state, so copying entries on every read would be wasted work.
+        configuration.setStoreByValue(false);
+        return configuration;
+    }
+
+    private static void register(MeterRegistry registry, String name, CacheRegionStatistics region) {
+        counter(registry, "hibernate.l2.hits", name, region, CacheRegionStatistics::getHitCount);
+        counter(registry, "hibernate.l2.misses", name, region, CacheRegionStatistics::getMissCount);
+        counter(registry, "hibernate.l2.puts", name, region, CacheRegionStatistics::getPutCount);
+        Gauge.builder("hibernate.l2.hit.ratio", region, SecondLevelCacheConfig::hitRatio)
+                .tag("region", name)
+                .register(registry);
+    }
+
+    private static void counter(MeterRegistry registry, String metric, String name,
+                                CacheRegionStatistics region, ToDoubleFunction<CacheRegionStatistics> count) {
+        FunctionCounter.builder(metric, region, count).tag("region", name).register(registry);
+    }
+
+    private static double hitRatio(CacheRegionStatistics region) {
+        long lookups = region.getHitCount() + region.getMissCount();
+        return lookups == 0 ? 0 : (double) region.getHitCount() / lookups;
+    }
+}
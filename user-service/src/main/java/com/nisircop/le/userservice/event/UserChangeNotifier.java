@@ -0,0 +1,63 @@
+package com.nisircop.le.userservice.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Tells every incident-service instance to drop cached roles and station membership for a changed user.
+ * Notification is best effort: an instance that misses it reloads the entry on its next refresh.
+ */
+@Component
+public class UserChangeNotifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserChangeNotifier.class);
+    private static final String INCIDENT_SERVICE = "incident-service";
+
+    private final DiscoveryClient discoveryClient;
+    private final RestClient restClient;
+    private final String internalToken;
+
+    public UserChangeNotifier(DiscoveryClient discoveryClient,
+                              @Value("${user.internal-token:}") String internalToken) {
+        this.discoveryClient = discoveryClient;
+        this.internalToken = internalToken;
+        if (internalToken.isBlank()) {
+            logger.warn("user.internal-token (INTERNAL_API_TOKEN) is not set; incident-service will refuse user "
+                    + "invalidations and serve changed station memberships until its cache entries expire");
+        }
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(2000);
+        requestFactory.setReadTimeout(2000);
+        this.restClient = RestClient.builder().requestFactory(requestFactory).build();
+    }
+
+    @TransactionalEventListener
+    public void onUserChanged(UserChangedEvent event) {
+        for (ServiceInstance instance : discoveryClient.getInstances(INCIDENT_SERVICE)) {
+            invalidate(instance, "/api/v1/incidents/cache/users/{id}", event.userId());
+            if (event.createdBy() != null) {
+                invalidate(instance, "/api/v1/incidents/cache/stations/{id}", event.createdBy());
+            }
+        }
+    }
+
+    private void invalidate(ServiceInstance instance, String path, Long id) {
+        try {
+            restClient.delete()
+                    .uri(instance.getUri() + path, id)
+                    .header("X-Internal-Token", internalToken)
+                    .retrieve()
+                    .toBodilessEntity();
+        } catch (RestClientException e) {
+            logger.warn("Could not invalidate {} on {}: {}", path.replace("{id}", String.valueOf(id)), instance.getUri(), e.getMessage());
+        }
+    }
+}
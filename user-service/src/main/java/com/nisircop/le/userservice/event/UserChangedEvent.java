@@ -0,0 +1,8 @@
+package com.nisircop.le.userservice.event;
+
+/**
+ * Published by {@code UserService} when a user is created, updated or deleted.
+ * {@code createdBy} is the station (or other creator) whose officer list the change affects, if any.
+ */
+public record UserChangedEvent(Long userId, Long createdBy) {
+}
@@ -3,6 +3,7 @@ package com.nisircop.le.userservice.service;
 import com.nisircop.le.userservice.dto.UserCreateRequest;
 import com.nisircop.le.userservice.dto.UserResponseDto;
 import com.nisircop.le.userservice.dto.ValidateRequest;
+import com.nisircop.le.userservice.event.UserChangedEvent;
 import com.nisircop.le.userservice.exception.ResourceNotFoundException;
 import com.nisircop.le.userservice.exception.UserServiceException;
 import com.nisircop.le.userservice.model.User;
@@ -11,6 +12,7 @@ import com.nisircop.le.userservice.model.UserRole;
 import com.nisircop.le.userservice.repository.UserProfileRepository;
 import com.nisircop.le.userservice.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -26,6 +28,7 @@ public class UserService {
     private final UserRepository userRepository;
     private final UserProfileRepository userProfileRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<UserResponseDto> getAllUsers() {
         return userRepository.findAll().stream()
@@ -61,6 +64,7 @@ public class UserService {
         userProfile.setUser(user);
 
         User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(savedUser.getId(), savedUser.getCreatedBy()));
         return mapToUserResponseDto(savedUser);
     }
 
@@ -100,6 +104,7 @@ public class UserService {
         }
         
         User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(savedUser.getId(), savedUser.getCreatedBy()));
         return mapToUserResponseDto(savedUser);
     }
 
@@ -111,6 +116,7 @@ public class UserService {
         validateUserDeletePermission(deleterId, user);
         
         userRepository.deleteById(id);
+        eventPublisher.publishEvent(new UserChangedEvent(id, user.getCreatedBy()));
     }
 
     private void validateUserUpdatePermission(Long updaterId, User targetUser) {